@@ -0,0 +1,59 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import frc.robot.commands.climber.ArmsToSetpoints;
+import frc.robot.utils.ArmSpeeds;
+import frc.robot.utils.ArmTrajectory;
+
+import static frc.robot.Constants.ClimberConstants.*;
+
+/**
+ * Climber control math, run every loop while climbing
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ArmMathBenchmark {
+    private final ArmTrajectory trajectory = new ArmTrajectory(new ArmSpeeds(60, 120, 1, 2));
+    private double time = 0;
+
+    @Setup
+    public void setup() {
+        trajectory.plan(0.2, 5, 0.6, 15);
+    }
+
+    @Benchmark
+    public double bangBangOutput() {
+        return ArmsToSetpoints.desiredOutput(0.6, 0.45, EXTENDER_SETPOINT_THRESHOLD, 6);
+    }
+
+    @Benchmark
+    public double trajectorySample() {
+        time += 0.02;
+        if (trajectory.isFinished(time)) {
+            time = 0;
+        }
+        trajectory.sample(time);
+        return trajectory.getAngle() + trajectory.getLength();
+    }
+
+    @Benchmark
+    public double trajectoryPlan() {
+        // Crosses the keep-out, so this includes the delay search
+        trajectory.plan(0.2, 5, 0.6, 15);
+        return trajectory.getTotalTime();
+    }
+}
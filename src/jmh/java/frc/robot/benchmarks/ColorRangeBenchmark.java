@@ -0,0 +1,39 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import com.revrobotics.ColorSensorV3.RawColor;
+
+import frc.robot.utils.ColorRange;
+
+/**
+ * Ball color matching, run for both alliance colors every intake loop
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ColorRangeBenchmark {
+    private final ColorRange range = new ColorRange(1800, 900, 300, 600);
+    private final RawColor reading = new RawColor(1700, 1000, 350, 0);
+
+    @Benchmark
+    public double getColorError() {
+        return range.getColorError(reading);
+    }
+
+    @Benchmark
+    public boolean colorMatch() {
+        return range.colorMatch(reading);
+    }
+}
@@ -0,0 +1,63 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import frc.robot.utils.NetworkTablesHelper;
+import frc.robot.utils.Targeting;
+
+/**
+ * NetworkTables lookups done every loop by vision and the dashboard
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class NetworkTablesBenchmark {
+
+    @Setup
+    public void setup() {
+        HAL.initialize(500, 0);
+        NetworkTablesHelper.setBoolean("photonvision", "rPi Camera 0", "hasTarget", true);
+        NetworkTablesHelper.setDouble("photonvision", "rPi Camera 0", "targetPixelsX", 120);
+        NetworkTablesHelper.setDouble("Benchmark", "value", 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        NetworkTableInstance.getDefault().deleteAllEntries();
+    }
+
+    @Benchmark
+    public double getDouble() {
+        return NetworkTablesHelper.getDouble("Benchmark", "value");
+    }
+
+    @Benchmark
+    public double getDoubleSubTable() {
+        return NetworkTablesHelper.getDouble("photonvision", "rPi Camera 0", "targetPixelsX");
+    }
+
+    @Benchmark
+    public boolean setDouble() {
+        return NetworkTablesHelper.setDouble("Benchmark", "value", 2);
+    }
+
+    @Benchmark
+    public double targetXOffset() {
+        return Targeting.getTargetXOffset();
+    }
+}
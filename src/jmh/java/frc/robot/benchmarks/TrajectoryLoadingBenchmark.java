@@ -0,0 +1,39 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.benchmarks;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import edu.wpi.first.math.trajectory.Trajectory;
+import frc.robot.commands.drive.FollowTrajectory;
+
+/**
+ * PathWeaver JSON parsing, done for every auto path at startup
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TrajectoryLoadingBenchmark {
+    // Set by the jmh task, the working directory isn't the project
+    private final Path deployDirectory = Paths.get(System.getProperty("benchmark.deployDir", "src/main/deploy"));
+
+    @Param({ "2Meter", "2BGrab", "1BForwardLeft" })
+    public String path;
+
+    @Benchmark
+    public Trajectory load() {
+        return FollowTrajectory.getTrajectoryFromJSON(deployDirectory, path);
+    }
+}
@@ -8,9 +8,9 @@ import edu.wpi.first.math.kinematics.DifferentialDriveKinematics;
 import edu.wpi.first.math.util.Units;
 import edu.wpi.first.wpilibj.I2C.Port;
 import frc.robot.utils.ColorRange;
+import frc.robot.utils.FeedProfile;
 import frc.robot.utils.ShooterProfiles;
 
-import com.ctre.phoenix.motorcontrol.StatusFrame;
 
 
 /**
@@ -34,14 +34,15 @@ public final class Constants {
     public final static String RIO_NAME = "rio";
 
     public static boolean isMotorStalling(WPI_TalonFX motor) {
-        double voltage = motor.getMotorOutputVoltage();
-        return motor.getStatorCurrent() >= 1.4 * voltage * voltage + 4.26 * voltage;
+        return isMotorStalling(motor.getMotorOutputVoltage(), motor.getStatorCurrent());
     }
 
-    public static WPI_TalonFX updateGeneralStatusFrame(WPI_TalonFX motor) {
-        motor.setStatusFramePeriod(StatusFrame.Status_1_General, 255);
-        motor.setStatusFramePeriod(StatusFrame.Status_2_Feedback0, 255);
-        return motor;
+    /**
+     * @param voltage Applied output (volts)
+     * @param statorCurrent Amps
+     */
+    public static boolean isMotorStalling(double voltage, double statorCurrent) {
+        return statorCurrent >= 1.4 * voltage * voltage + 4.26 * voltage;
     }
 
     public final static class JoystickConstants {
@@ -120,6 +121,9 @@ public final class Constants {
         public final static double KS = 0.73816; // Volts
         public final static double KV = 2.1836; // Volts * Seconds / Meters
         public final static double KA = 0.25419; // Volts * Seconds^2 / Meters
+        // Turning in place, only used by the simulator. Estimated, not characterized
+        public final static double KV_ANGULAR = 2.4; // Volts * Seconds / Meters
+        public final static double KA_ANGULAR = 0.35; // Volts * Seconds^2 / Meters
         public final static double KB = 3.8; // 3.5
         public final static double ZETA = 0.4; // 0.4
 
@@ -149,6 +153,11 @@ public final class Constants {
 
         public final static double ROTATIONS_TO_METERS = Units.inchesToMeters(25 * Math.PI);
 
+        // Indexer velocity control, estimates
+        public final static double INDEXER_METERS_PER_ROTATION = 0.019; // Belt travel per motor rotation
+        public final static double INDEXER_KF = 0.047; // 1023 / free speed in clicks per 100ms
+        public final static double INDEXER_KP = 0.05;
+
 
         // Ports
         public final static int INTAKE_MOTOR_PORT = 7;
@@ -163,6 +172,24 @@ public final class Constants {
         public final static int COLOR_SENSOR_PROXIMITY_THRESHOLD = 85; // 0 (closest) to 2047 (furthest)
     }
 
+    /**
+     * Intake, indexer and loader jam detection. Estimates, tune on the robot
+     */
+    public static final class JamConstants {
+
+        public final static int STATUS_FRAME_PERIOD = 10; // ms, current and velocity of the watched motors
+        public final static int JAM_WINDOW_LOOPS = 5; // Stalled this many loops in a row is a jam
+        public final static double JAM_MIN_OUTPUT = 0.1; // Below this the motor isn't really driven
+        public final static double STALL_VELOCITY = 200; // clicks per 100ms
+        public final static double INTAKE_STALL_CURRENT = 30; // A stator
+        public final static double INDEXER_STALL_CURRENT = 25; // A stator
+        public final static double LOADER_STALL_CURRENT = 30; // A stator
+
+        public final static double UNJAM_PERCENT = 0.4;
+        public final static double UNJAM_TIME = 0.2; // s
+        public final static double UNJAM_COOLDOWN = 0.5; // s before another pulse
+    }
+
     public static final class LoaderConstants {
 
         // General
@@ -170,6 +197,15 @@ public final class Constants {
         public final static double MAX_LOADER_INTAKE_SPEED = 0.3;
         public final static double REJECT_TIME_BLUE = .45; //s
         public final static double REVERSE_TIME = .3;
+        public final static double BALL_DIAMETER = Units.inchesToMeters(9.5);
+        // Loader 1.6 m/s, indexer 1 m/s, a shot every 0.25 s
+        public final static FeedProfile FEED_PROFILE_SHOOT = new FeedProfile(1.6, 0.4);
+        public final static double FEED_VOLTAGE_COMPENSATION = 11; // V, so percent feedforward means the same volts
+
+        // Loader velocity control, estimates
+        public final static double LOADER_METERS_PER_ROTATION = 0.019; // Belt travel per motor rotation
+        public final static double LOADER_KF = 0.047; // 1023 / free speed in clicks per 100ms
+        public final static double LOADER_KP = 0.05;
 
         // Ports
         public final static int LOADER_PORT = 10;
@@ -222,6 +258,19 @@ public final class Constants {
         public final static double ROTATOR_BACK_LIMIT_DEG = 0;
         public final static double ROTATOR_FRONT_LIMIT_DEG = 25.5;
 
+        // Keep-out: arms extended past this length must be rotated back far enough to clear the bar they're on
+        public final static double KEEP_OUT_MAX_LENGTH = 0.5; // m
+        public final static double KEEP_OUT_MIN_ANGLE_DEG = 12;
+
+        // AutoClimb profiles, cruise speed scales with the phase voltage. About half the free speed per volt so the PID has headroom under load
+        public final static double CLIMB_EXTENDER_VELOCITY_PER_VOLT = 0.04; // m/s per V
+        public final static double CLIMB_EXTENDER_MAX_ACCELERATION = 1; // m/s^2
+        public final static double CLIMB_ROTATOR_VELOCITY_PER_VOLT = 12; // deg/s per V
+        public final static double CLIMB_ROTATOR_MAX_ACCELERATION = 60; // deg/s^2
+        // Full phase voltage once this far behind the profile
+        public final static double CLIMB_EXTENDER_KP = MAX_EXTENDER_VOLTS / 0.05; // V/m
+        public final static double CLIMB_ROTATOR_KP = MAX_ROTATOR_VOLTS / 4; // V/deg
+
         // Config
         public static final boolean ROTATOR_LEFT_INVERTED = true;
         public static final boolean ROTATOR_RIGHT_INVERTED = false;
@@ -239,6 +288,17 @@ public final class Constants {
         public static double BRAKE_KP = .0006; // 0.000125
         public static double BRAKE_TOLERANCE = 500;
 
+        // Rotator feedforward. NOT FITTED: these are guesses, no climb data has been fit yet.
+        // Feedforward stays at 0 V until they are refit from the logged rotator volts, angle and velocity
+        public static final boolean ROTATOR_FEEDFORWARD_FITTED = false;
+        public static final double ROTATOR_KS = 0.12; // Volts
+        public static final double ROTATOR_KG_UNLOADED = 0.18; // Volts, arms free
+        public static final double ROTATOR_KG_LOADED = 0.95; // Volts, robot hanging from arms
+        public static final double ROTATOR_KV = 0.45; // Volts * Seconds / Radians
+        public static final double ROTATOR_HORIZONTAL_OFFSET_DEG = 90; // Arm angle from horizontal at 0 deg
+        public static final double EXTENDER_LOADED_CURRENT = 25; // Amps, stator current while carrying the robot
+        public static final double LOADED_DEBOUNCE_SECONDS = 0.1;
+
         public final static double GET_DEGREES_FROM_CLICKS(double Clicks) {
             return Clicks / DriveConstants.CLICKS_PER_ROT * MOTOR_ROT_PER_ARM_ROT * 360;
         }
@@ -252,6 +312,7 @@ public final class Constants {
         public final static ShooterProfiles SHOOTER_PROFILE_HIGH = new ShooterProfiles(() -> 1350, () -> 3750); // () -> 1450, () -> 3350
         public final static ShooterProfiles SHOOTER_PROFILE_LOW = new ShooterProfiles(() -> 1200, () -> 1100); // 1200, 1100
         public final static ShooterProfiles SHOOTER_PROFILE_REJECT = new ShooterProfiles(() -> 700, () -> 300);
+        public final static double SHOT_RPM_DROP = 250; // Power wheel dip that counts as a ball leaving
 
         // Ports    
         public final static int LEFT_POWER_WHEEL = 11; // 11
@@ -289,9 +350,57 @@ public final class Constants {
         public static final double SHOOT_TIME_1B = 1; // s
         public static final double TURN_VOLTS = 3;
         public static final double HALF_TURN_TIME = .75;
+        public static final int PRELOADED_BALLS = 1;
+
+        // Fitting autos into the period
+        public static final double AUTO_PERIOD = 15; // s
+        public static final double AUTO_TIME_MARGIN = 0.3; // s kept spare when deciding to skip or fire early
+        public static final double TURN_TIME_ESTIMATE = 1; // s for a turn to angle
+        public static final double SHOOT_TIME_FILTER = 0.5; // Weight of each new shoot time measurement
+
+        // Field, paths are drawn for blue and rotated about the center for red
+        public static final double FIELD_LENGTH = Units.feetToMeters(54); // m
+        public static final double FIELD_WIDTH = Units.feetToMeters(27); // m
+
+        // Generating paths, see PathGenerator in src/tools
+        public static final double PATH_MAX_VOLTS = 10; // Left for the feedback to correct with
+        public static final double PATH_TIME_REGRESSION = 0.05; // Fraction a path may slow down by before generatePaths won't write it
+
+        // Connecting paths, generated on the robot when it isn't where the next path starts
+        public static final double CONNECTOR_MIN_DISTANCE = 0.5; // m off the start of a path before driving a connector
+        public static final double CONNECTOR_MAX_VELOCITY = 2; // m/s
+        public static final double CONNECTOR_MAX_ACCELERATION = 2; // m/s^2
+        public static final double CONNECTOR_POSE_RESOLUTION = 0.05; // m, start poses are rounded so connectors get reused
+        public static final double CONNECTOR_ANGLE_RESOLUTION = 5; // deg
+        public static final double CONNECTOR_MAX_ANGLE = 60; // deg between headings, or a heading and the way it drives. More loops
+        public static final double CONNECTOR_WAIT_TIMEOUT = 0.5; // s for a connector to generate before starting the path without it
+        public static final int TRAJECTORY_CACHE_SIZE = 32; // Generated paths kept in memory
+        public static final int TRAJECTORY_CACHE_FILES = 256; // Generated paths kept on the roboRIO
+        public static final long TRAJECTORY_CACHE_BYTES = 16L << 20; // Of generated paths kept on the roboRIO
 
     }
 
+    /**
+     * Desktop simulation only. Estimates, not measured
+     */
+    public final static class SimConstants {
+
+        // Flywheels
+        public final static double POWER_WHEEL_MOI = 0.004; // kg * m^2
+        public final static double AIM_WHEEL_MOI = 0.002; // kg * m^2
+        public final static double SHOT_ENERGY_LOSS = 0.2; // Fraction of flywheel energy each ball takes
+        public final static double SHOT_RPM_DROP = 100; // Simulated dips at the low goal rpm are shallower than real ones
+
+        // Ball path, meters from where the intake grabs a ball
+        public final static double INDEXER_POSITION = 0.25;
+        public final static double COLOR_SENSOR_POSITION = 0.35;
+        public final static double LOADER_POSITION = 0.5;
+        public final static double SHOOTER_POSITION = 0.75;
+        public final static double BALL_DIAMETER = LoaderConstants.BALL_DIAMETER;
+        public final static double BELT_SPEED = 2; // m/s at full output
+        public final static double BALL_PICKUP_TIME = 1; // s of intaking per ball
+    }
+
     public final static class CandleConstants {
 
         public static final int CANDLE_ID = 37;
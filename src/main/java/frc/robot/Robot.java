@@ -4,12 +4,22 @@
 
 package frc.robot;
 
+import java.lang.management.ManagementFactory;
+
+import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.TimedRobot;
 import edu.wpi.first.wpilibj.livewindow.LiveWindow;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import frc.robot.utils.AutoStepLog;
 import frc.robot.utils.Candle;
 import frc.robot.utils.Candle.LEDState;
+import frc.robot.utils.InputsTable;
+import frc.robot.utils.Logging;
+import frc.robot.utils.MatchInputs;
+import frc.robot.utils.LoopProfiler;
+import frc.robot.utils.TelemetryLog;
 
 
 /**
@@ -20,8 +30,13 @@ import frc.robot.utils.Candle.LEDState;
  */
 public class Robot extends TimedRobot {
   private Command autonomousCommand;
+  private boolean autonomousTimed;
   private RobotContainer robotContainer;
   private Boolean hasBeenEnabled = false;
+  private LoopProfiler profiler = LoopProfiler.getInstance();
+  private int loopSection;
+  private int schedulerSection;
+  private int candleSection;
   //CANdle candle = new CANdle(37);
 
   
@@ -32,11 +47,51 @@ public class Robot extends TimedRobot {
 
   @Override
   public void robotInit() {
+    long robotInitStart = System.currentTimeMillis();
     LiveWindow.disableAllTelemetry();
+    if(Logging.timing) {
+      loopSection = profiler.addAggregateSection("Loop");
+      schedulerSection = profiler.addAggregateSection("Scheduler");
+      candleSection = profiler.addSection("Candle");
+    }
     // Instantiate our RobotContainer.  This will perform all our button bindings, and put our  
     // autonomous chooser on the dashboard.
     robotContainer = new RobotContainer();
+    // After the button bindings, so command timing starts once they've been polled
+    if(Logging.timing) profiler.attach(CommandScheduler.getInstance());
     Candle.getInstance().changeLedState(LEDState.PreMatch);
+    reportStartupTime(robotInitStart);
+  }
+
+  /**
+   * Prints how long the robot took to come up, to compare deploys with and
+   * without the class data archive (see build.gradle)
+   */
+  private void reportStartupTime(long robotInitStart) {
+    long now = System.currentTimeMillis();
+    double sinceJvmStart = (now - ManagementFactory.getRuntimeMXBean().getStartTime()) / 1000.0;
+    double robotInit = (now - robotInitStart) / 1000.0;
+    // The JVM adds "sharing" when it mapped an archive
+    boolean sharing = System.getProperty("java.vm.info", "").contains("sharing");
+    System.out.println(String.format("Robot ready %.2f s after JVM start, robotInit %.2f s, class sharing %s",
+        sinceJvmStart, robotInit, sharing ? "on" : "off"));
+    SmartDashboard.putNumber("Startup Time", sinceJvmStart);
+    SmartDashboard.putNumber("robotInit Time", robotInit);
+  }
+
+  @Override
+  protected void loopFunc() {
+    // Start the log cycle before the mode functions run so they land in the same loop
+    if(Logging.binary) TelemetryLog.getInstance().startCycle();
+    if(Logging.binary && !InputsTable.isReplay()) MatchInputs.getInstance().record();
+    super.loopFunc();
+  }
+
+  /**
+   * Run one loop, for MatchReplay in src/tools
+   */
+  void replayLoop() {
+    loopFunc();
   }
 
   /**
@@ -48,19 +103,32 @@ public class Robot extends TimedRobot {
    */
   @Override
   public void robotPeriodic() {
+    long loopStart = profiler.start();
+    if(Logging.timing) profiler.startLoop();
+
     // Runs the Scheduler.  This is responsible for polling buttons, adding newly-scheduled
     // commands, running already-scheduled commands, removing finished or interrupted commands,
     // and running subsystem periodic() methods.  This must be called from the robot's periodic
     // block in order for anything in the Command-based framework to work.
+    long schedulerStart = profiler.start();
     CommandScheduler.getInstance().run();
+    if(Logging.timing) profiler.record(schedulerSection, schedulerStart);
 
+    long candleStart = profiler.start();
     Candle.getInstance().periodic();
+    if(Logging.timing) profiler.record(candleSection, candleStart);
 
+    if(Logging.timing) {
+      profiler.record(loopSection, loopStart);
+      profiler.endLoop(loopSection, getPeriod());
+    }
   }
 
   /** This function is called once each time the robot enters Disabled mode. */
   @Override
   public void disabledInit() {
+    // An auto cut short by disabling never ends its step
+    AutoStepLog.getInstance().endStep();
     if(this.isTest()) robotContainer.clearClimberStickies();
 
 
@@ -72,14 +140,20 @@ public class Robot extends TimedRobot {
   }
 
   @Override
-  public void disabledPeriodic() {}
+  public void disabledPeriodic() {
+    robotContainer.warmUp();
+  }
 
   /** This autonomous runs the autonomous command selected by your {@link RobotContainer} class. */
   @Override
   public void autonomousInit() {
+    if(Logging.timing) profiler.reset();
     Candle.getInstance().changeLedState(LEDState.Idle);
     RobotContainer.setTeamColor();
     autonomousCommand = robotContainer.getAutonomousCommand();
+    // Clear the last run, the auto restarts this once its first step runs
+    AutoStepLog.getInstance().startAuto("");
+    autonomousTimed = false;
     // schedule the autonomous command (example)
     if (autonomousCommand != null) {
       autonomousCommand.schedule();
@@ -92,6 +166,17 @@ public class Robot extends TimedRobot {
   @Override
   public void autonomousPeriodic() {
     robotContainer.updatePose();
+
+    AutoStepLog stepLog = AutoStepLog.getInstance();
+    if (!autonomousTimed && stepLog.isFinished()) {
+      // Auto finished, report how long it took (mostly for checking autos in sim)
+      autonomousTimed = true;
+      double time = stepLog.getTotalTime();
+      SmartDashboard.putNumber("Auto Time", time);
+      if (time > 15) {
+        DriverStation.reportWarning("Auto took " + String.format("%.2f", time) + " s, over the 15 s period", false);
+      }
+    }
   }
 
   @Override
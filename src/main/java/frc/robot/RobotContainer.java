@@ -4,11 +4,15 @@
 
 package frc.robot;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.function.DoubleSupplier;
 
 import edu.wpi.first.math.geometry.Pose2d;
-import edu.wpi.first.networktables.NetworkTableInstance;
 import edu.wpi.first.wpilibj.GenericHID;
+import edu.wpi.first.wpilibj.RobotBase;
 import edu.wpi.first.wpilibj.XboxController;
 import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj.shuffleboard.ShuffleboardTab;
@@ -18,6 +22,7 @@ import frc.robot.Constants.ClimberConstants;
 import frc.robot.Constants.DriveConstants;
 import frc.robot.Constants.ShooterConstants;
 import frc.robot.commands.drive.ArcadeDrive;
+import frc.robot.commands.drive.FollowTrajectory;
 import frc.robot.commands.auto.AutoSequences;
 import frc.robot.commands.climber.ArmsToSetpoints;
 import frc.robot.commands.climber.AutoClimb;
@@ -29,17 +34,37 @@ import frc.robot.commands.intake.RejectBall;
 import frc.robot.commands.intake.RetractIntake;
 import frc.robot.commands.intake.RunIntake;
 import frc.robot.commands.shooter.Shoot;
+import frc.robot.subsystems.ClimberIO;
+import frc.robot.subsystems.ClimberIOReal;
+import frc.robot.subsystems.ClimberIOSim;
 import frc.robot.subsystems.ClimbingSubsystem;
+import frc.robot.subsystems.DriveIO;
+import frc.robot.subsystems.DriveIOReal;
+import frc.robot.subsystems.DriveIOSim;
 import frc.robot.subsystems.DriveSubsystem;
+import frc.robot.subsystems.IntakeIO;
+import frc.robot.subsystems.IntakeIOReal;
+import frc.robot.subsystems.IntakeIOSim;
 import frc.robot.subsystems.IntakeSubsystem;
+import frc.robot.subsystems.LoaderIO;
+import frc.robot.subsystems.LoaderIOReal;
+import frc.robot.subsystems.LoaderIOSim;
 import frc.robot.subsystems.LoaderSubsystem;
+import frc.robot.subsystems.ShooterIO;
+import frc.robot.subsystems.ShooterIOReal;
+import frc.robot.subsystems.ShooterIOSim;
 import frc.robot.subsystems.ShooterSubsystem;
 import frc.robot.utils.Candle;
 import frc.robot.utils.Logging;
+import frc.robot.utils.MatchInputs;
 import frc.robot.utils.NetworkTablesHelper;
+import frc.robot.utils.SensorEvents;
+import frc.robot.utils.StartupTasks;
+import frc.robot.utils.TalonConfig;
 import frc.robot.utils.Targeting;
 import frc.robot.utils.Candle.LEDState;
 import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
 import edu.wpi.first.wpilibj2.command.ConditionalCommand;
 import edu.wpi.first.wpilibj2.command.InstantCommand;
 import edu.wpi.first.wpilibj2.command.ParallelCommandGroup;
@@ -58,17 +83,23 @@ import static frc.robot.Constants.JoystickConstants.*;
 public class RobotContainer {
   // The robot's subsystems and commands are defined here...
 
+  // Off the robot, -Dreplay=true runs on logged inputs with no hardware at all
+  private final static boolean replay = RobotBase.isSimulation() && Boolean.getBoolean("replay");
+
   // Subsystems
-  private final static DriveSubsystem driveSubsystem = new DriveSubsystem();
-  private final static IntakeSubsystem intakeSubsystem = new IntakeSubsystem();
-  private final static ClimbingSubsystem climbingSubsystem = new ClimbingSubsystem();
-  private final static ShooterSubsystem shooterSubsystem = new ShooterSubsystem();
-  private final static LoaderSubsystem loaderSubsystem = new LoaderSubsystem();
-  
+  private final DriveSubsystem driveSubsystem;
+  private final IntakeSubsystem intakeSubsystem;
+  private final ClimbingSubsystem climbingSubsystem;
+  private final ShooterSubsystem shooterSubsystem;
+  private final LoaderSubsystem loaderSubsystem;
 
   private final XboxController joystick = new XboxController(Constants.JoystickConstants.MAIN_JOYSTICK);
 
   private SendableChooser<Command> autoChooser = new SendableChooser<Command>();
+  // Each auto with the motor shutdown after it, built the first time it runs.
+  // A command can only join one group, so this also lets an auto run twice.
+  private final Map<Command, Command> autosWithTeardown = new HashMap<>();
+  private final Command noAuto = new InstantCommand();
 
   public static ShuffleboardTab tab = Shuffleboard.getTab("RobotContainer");
   private static boolean isTeamRed = false;
@@ -78,19 +109,67 @@ public class RobotContainer {
 
   private boolean driveMode = true;
   private static boolean rejectBalls = true;
-  private static final AutoSequences autos = new AutoSequences(driveSubsystem, intakeSubsystem, loaderSubsystem,
-      shooterSubsystem, rejectBalls);
+  private final AutoSequences autos;
+  private final WarmUp warmUp;
 
   /**
    * The container for the robot. Contains subsystems, OI devices, and commands.
    */
   public RobotContainer() {
+    // Device configuration is mostly blocking CAN calls and path loading is disk
+    // reads, none depend on each other so they overlap
+    StartupTasks startup = new StartupTasks();
+    Future<DriveIO> driveIO = startup.submit("Drive IO",
+        () -> RobotBase.isReal() ? new DriveIOReal() : replay ? new DriveIO() {} : new DriveIOSim());
+    Future<IntakeIO> intakeIO = startup.submit("Intake IO",
+        () -> RobotBase.isReal() ? new IntakeIOReal() : replay ? new IntakeIO() {} : new IntakeIOSim());
+    Future<ClimberIO> climberIO = startup.submit("Climber IO",
+        () -> RobotBase.isReal() ? new ClimberIOReal() : replay ? new ClimberIO() {} : new ClimberIOSim());
+    Future<ShooterIO> shooterIO = startup.submit("Shooter IO",
+        () -> RobotBase.isReal() ? new ShooterIOReal() : replay ? new ShooterIO() {} : new ShooterIOSim());
+    Future<LoaderIO> loaderIO = startup.submit("Loader IO",
+        () -> RobotBase.isReal() ? new LoaderIOReal() : replay ? new LoaderIO() {} : new LoaderIOSim());
+    startup.submit("Candle", Candle::getInstance);
+    for (String path : FollowTrajectory.getTrajectoryNames()) {
+      startup.submit("Path " + path, () -> {
+        FollowTrajectory.preloadTrajectory(path);
+        return null;
+      });
+    }
+    startup.join();
+    TalonConfig.save();
+
+    // Subsystems register with the scheduler, which only the robot thread may touch
+    driveSubsystem = startup.run("Drive", () -> new DriveSubsystem(getNow(driveIO)));
+    intakeSubsystem = startup.run("Intake", () -> new IntakeSubsystem(getNow(intakeIO)));
+    climbingSubsystem = startup.run("Climber", () -> new ClimbingSubsystem(getNow(climberIO)));
+    shooterSubsystem = startup.run("Shooter", () -> new ShooterSubsystem(getNow(shooterIO)));
+    loaderSubsystem = startup.run("Loader", () -> new LoaderSubsystem(getNow(loaderIO)));
+    autos = startup.run("Autos", () -> new AutoSequences(driveSubsystem, intakeSubsystem, loaderSubsystem,
+        shooterSubsystem, rejectBalls));
+    warmUp = startup.run("Warm-up", WarmUp::new);
+    startup.printTimeline();
+
     addAutoCommands();
     configureButtonBindings();
     driveSubsystem.resetOdometry(new Pose2d());
+    Candle.getInstance().setRobotSpeed(() -> driveSubsystem.getWheelSpeeds().leftMetersPerSecond,
+        () -> driveSubsystem.getWheelSpeeds().rightMetersPerSecond);
 
   }
 
+  /**
+   * @return Result of a startup task that has already finished
+   */
+  private static <T> T getNow(Future<T> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException | ExecutionException e) {
+      // StartupTasks.join() already threw for failed tasks
+      throw new IllegalStateException(e);
+    }
+  }
+
   public void resetOdometry() {
     driveSubsystem.resetOdometry(new Pose2d());
   }
@@ -150,6 +229,14 @@ public class RobotContainer {
    */
   private void configureButtonBindings() {
 
+    // Buttons are polled after every subsystem's periodic and before commands
+    // run, so events reach commands in the loop they were read
+    SensorEvents sensorEvents = SensorEvents.getInstance();
+    CommandScheduler.getInstance().addButton(() -> {
+      sensorEvents.publish(SensorEvents.Type.ProceedPressed, joystick.getXButton());
+      sensorEvents.dispatch();
+    });
+
     // new JoystickButton(joystick, Constants.JoystickConstants.BUTTON_Y).whenPressed(Candle.getInstance()::incrementAnimation, candleSubsystem);
     // new JoystickButton(joystick, Constants.JoystickConstants.BUTTON_B).whenPressed(Candle.getInstance()::clearAllAnims, candleSubsystem);
     // /* DRIVING */
@@ -200,7 +287,7 @@ public class RobotContainer {
     // Start auto climb when left menu button pressed, and release to stop. Press X
     // to proceed
     new JoystickButton(joystick, LEFT_MENU_BUTTON)
-        .toggleWhenPressed(new AutoClimb(climbingSubsystem, () -> joystick.getXButton()))
+        .toggleWhenPressed(new AutoClimb(climbingSubsystem))
         .toggleWhenPressed(stopToClimb)
         .toggleWhenPressed(new InstantCommand(() -> {
           driveMode = false;
@@ -245,7 +332,7 @@ public class RobotContainer {
         
             new JoystickButton(joystick, LEFT_BUMPER)
                 .whenHeld(
-                    new RunIntake(intakeSubsystem, loaderSubsystem))
+                    new RunIntake(intakeSubsystem, loaderSubsystem, shooterSubsystem, rejectBalls))
                 .whenReleased(
                     new RejectBall(loaderSubsystem, shooterSubsystem, true));
         
@@ -282,10 +369,23 @@ public class RobotContainer {
 
 
     if (autoChooser.getSelected() == null) {
-      return new InstantCommand();
+      return noAuto;
     }
-    return autoChooser.getSelected().andThen(driveSubsystem::disable).andThen(shooterSubsystem::disable)
-        .andThen(intakeSubsystem::disable).andThen(loaderSubsystem::disable);
+    return autosWithTeardown.computeIfAbsent(autoChooser.getSelected(), (auto) -> auto.andThen(this::disableMechanisms));
+  }
+
+  private void disableMechanisms() {
+    driveSubsystem.disable();
+    shooterSubsystem.disable();
+    intakeSubsystem.disable();
+    loaderSubsystem.disable();
+  }
+
+  /**
+   * Call while disabled, see {@link WarmUp}
+   */
+  public void warmUp() {
+    warmUp.run(autoChooser.getSelected());
   }
 
   public void testModeRunArms() {
@@ -318,7 +418,7 @@ public class RobotContainer {
   }
 
   public static void setTeamColor() {
-    if(!teamColorSet && NetworkTableInstance.getDefault().isConnected()) {
+    if(!teamColorSet && MatchInputs.getInstance().isNetworkTablesConnected()) {
       teamColorSet = true;
       isTeamRed = NetworkTablesHelper.getBoolean("FMSInfo", "IsRedAlliance", false);
     }
@@ -328,6 +428,18 @@ public class RobotContainer {
     driveSubsystem.updatePose();
   }
 
+  public AutoSequences getAutoSequences() {
+    return autos;
+  }
+
+  public int getBallsShot() {
+    return shooterSubsystem.getBallsShot();
+  }
+
+  public double getLastSpinUpTime() {
+    return shooterSubsystem.getLastSpinUpTime();
+  }
+
   /**
    * 
    * @return True if red, false if blue
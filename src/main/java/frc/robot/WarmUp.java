@@ -0,0 +1,161 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.wpi.first.math.trajectory.Trajectory;
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import frc.robot.commands.climber.ArmsToSetpoints;
+import frc.robot.commands.drive.FollowTrajectory;
+import frc.robot.commands.drive.TurnToAngle;
+import frc.robot.commands.intake.RunIntake;
+import frc.robot.commands.shooter.Shoot;
+import frc.robot.subsystems.ClimberIO;
+import frc.robot.subsystems.ClimbingSubsystem;
+import frc.robot.subsystems.DriveIO;
+import frc.robot.subsystems.DriveSubsystem;
+import frc.robot.subsystems.IntakeIO;
+import frc.robot.subsystems.IntakeSubsystem;
+import frc.robot.subsystems.LoaderIO;
+import frc.robot.subsystems.LoaderSubsystem;
+import frc.robot.subsystems.ShooterIO;
+import frc.robot.subsystems.ShooterSubsystem;
+import frc.robot.utils.NamedSequentialCommandGroup;
+
+import static frc.robot.Constants.ShooterConstants.*;
+
+/**
+ * Runs the code autonomous depends on while disabled, so the JIT has compiled
+ * it before the first auto loop instead of interpreting it.
+ *
+ * The commands run on a second set of subsystems with empty IO that don't
+ * publish anything, nothing reaches the hardware, the dashboards or the log.
+ * They aren't scheduled, since commands don't run while disabled, so their
+ * methods are called here directly. The drive commands follow the selected
+ * auto's paths. Commands that change the LEDs on initialize/end only have
+ * execute() run.
+ */
+public class WarmUp {
+  private static final long BUDGET_NANOS = 4_000_000; // Per disabled loop
+  private static final int EXECUTES_PER_RUN = 50; // Before restarting a command
+  private static final int TARGET_EXECUTES = 10_000; // Per command, past the JIT's compile thresholds
+
+  private final DriveSubsystem driveSubsystem;
+  private final IntakeSubsystem intakeSubsystem;
+  private final LoaderSubsystem loaderSubsystem;
+  private final ShooterSubsystem shooterSubsystem;
+  private final ClimbingSubsystem climbingSubsystem;
+
+  private final List<Step> steps = new ArrayList<>();
+  private Command auto = null;
+  private int stepIndex = 0;
+  private long iterations = 0;
+  private boolean done = false;
+
+  public WarmUp() {
+    driveSubsystem = new DriveSubsystem(new DriveIO() {}, false);
+    intakeSubsystem = new IntakeSubsystem(new IntakeIO() {}, false);
+    loaderSubsystem = new LoaderSubsystem(new LoaderIO() {}, false);
+    shooterSubsystem = new ShooterSubsystem(new ShooterIO() {}, false);
+    climbingSubsystem = new ClimbingSubsystem(new ClimberIO() {}, false);
+    CommandScheduler.getInstance().unregisterSubsystem(
+        driveSubsystem, intakeSubsystem, loaderSubsystem, shooterSubsystem, climbingSubsystem);
+
+    setAuto(null);
+  }
+
+  /**
+   * Warm up for a bit, call from disabledPeriodic
+   * @param selectedAuto Auto that will run, its paths are followed
+   */
+  public void run(Command selectedAuto) {
+    if (selectedAuto != auto) {
+      setAuto(selectedAuto);
+    }
+    if (done) return;
+
+    long start = System.nanoTime();
+    while (System.nanoTime() - start < BUDGET_NANOS) {
+      Step step = steps.get(stepIndex);
+      step.execute();
+      iterations++;
+      if (step.executes % EXECUTES_PER_RUN == 0) {
+        step.restart();
+        stepIndex = (stepIndex + 1) % steps.size();
+        if (isWarm()) {
+          done = true;
+          break;
+        }
+      }
+    }
+    SmartDashboard.putNumber("Warm-up Iterations", iterations);
+    SmartDashboard.putBoolean("Warm-up Done", done);
+  }
+
+  private void setAuto(Command selectedAuto) {
+    auto = selectedAuto;
+    steps.clear();
+    stepIndex = 0;
+    done = false;
+
+    if (selectedAuto instanceof NamedSequentialCommandGroup) {
+      for (Trajectory trajectory : ((NamedSequentialCommandGroup) selectedAuto).getTrajectories()) {
+        // Paths that failed to load have no states to sample
+        if (trajectory.getStates().isEmpty()) continue;
+        steps.add(new Step(new FollowTrajectory(driveSubsystem, trajectory), true));
+      }
+    }
+    steps.add(new Step(new TurnToAngle(driveSubsystem, 0), true));
+    steps.add(new Step(new Shoot(intakeSubsystem, loaderSubsystem, shooterSubsystem, SHOOTER_PROFILE_HIGH), false));
+    steps.add(new Step(new RunIntake(intakeSubsystem, loaderSubsystem, shooterSubsystem, true), false));
+    steps.add(new Step(new ArmsToSetpoints(climbingSubsystem, 0.5, 10), false));
+  }
+
+  private boolean isWarm() {
+    for (Step step : steps) {
+      if (step.executes < TARGET_EXECUTES) return false;
+    }
+    return true;
+  }
+
+  public long getIterations() {
+    return iterations;
+  }
+
+  private static class Step {
+    private final Command command;
+    private final boolean runLifecycle;
+    private boolean running = false;
+    private int executes = 0;
+
+    /**
+     * @param runLifecycle Also run initialize() and end(), only if they have no side effects
+     */
+    private Step(Command command, boolean runLifecycle) {
+      this.command = command;
+      this.runLifecycle = runLifecycle;
+    }
+
+    private void execute() {
+      if (runLifecycle && !running) {
+        command.initialize();
+        running = true;
+      }
+      command.execute();
+      executes++;
+    }
+
+    private void restart() {
+      if (runLifecycle && running) {
+        command.end(true);
+        running = false;
+      }
+    }
+  }
+}
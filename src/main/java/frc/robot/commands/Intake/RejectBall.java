@@ -7,13 +7,13 @@ package frc.robot.commands.intake;
 
 import com.revrobotics.ColorSensorV3.RawColor;
 
-import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.robot.RobotContainer;
 import frc.robot.subsystems.IntakeSubsystem;
 import frc.robot.subsystems.LoaderSubsystem;
 import frc.robot.subsystems.ShooterSubsystem;
 import frc.robot.utils.Candle;
+import frc.robot.utils.Stopwatch;
 import frc.robot.utils.Candle.LEDState;
 
 import static frc.robot.Constants.LoaderConstants.*;
@@ -23,7 +23,7 @@ public class RejectBall extends CommandBase {
 
   private final LoaderSubsystem loaderSubsystem;
   private final ShooterSubsystem shooterSubsystem;
-  private Timer shootTimer = new Timer();
+  private final Stopwatch shootTimer = new Stopwatch();
   private boolean finishedShooting = false;
   private boolean retracting = false;
   private RawColor ballColor;
@@ -49,14 +49,12 @@ public class RejectBall extends CommandBase {
     retracting = false;
     finishedShooting = false;
     ballColor = IntakeSubsystem.getColorSensorRaw();
-    shootTimer.start(); 
+    shootTimer.restart();
     if(IntakeSubsystem.isBallLow()) {
       // if we are red & ball is blue
       if((RobotContainer.getTeamColor() && BLUE.colorMatch(ballColor)) ||
       // if we are blue & ball is red
       (!RobotContainer.getTeamColor() && RED.colorMatch(ballColor))) {
-        shootTimer = new Timer();
-        shootTimer.start();
         reject = true;
       }
     }
@@ -7,32 +7,64 @@ package frc.robot.commands.intake;
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.robot.subsystems.IntakeSubsystem;
 import frc.robot.subsystems.LoaderSubsystem;
+import frc.robot.subsystems.ShooterSubsystem;
+import frc.robot.utils.BallInventory;
 import frc.robot.utils.Candle;
+import frc.robot.utils.Stopwatch;
 import frc.robot.utils.Candle.LEDState;
 
 import static frc.robot.Constants.IntakeConstants.*;
 import static frc.robot.Constants.LoaderConstants.*;
+import static frc.robot.Constants.ShooterConstants.*;
 
 /**
- * Runs balls up the intake to the color sensor
+ * Runs balls up the intake to the color sensor.
+ *
+ * With rejection on, the shooter idles at the reject speed, and an opponent
+ * ball reaching the sensor is fed straight out of the shooter once the wheels
+ * are at that speed, while the intake keeps running. The indexer stops so the
+ * next ball waits below the sensor until the opponent ball is gone.
  */
 public class RunIntake extends CommandBase {
   /** Creates a new RunIntake. */
 
   private final IntakeSubsystem intakeSubsystem;
   private final LoaderSubsystem loaderSubsystem;
+  private final ShooterSubsystem shooterSubsystem;
+  private final BallInventory inventory = BallInventory.getInstance();
+  private final Stopwatch rejectTimer = new Stopwatch();
+  private boolean rejecting = false;
+  private boolean feeding = false;
 
   public RunIntake(IntakeSubsystem intakeSubsystem, LoaderSubsystem loaderSubsystem) {
     // Use addRequirements() here to declare subsystem dependencies.
     addRequirements(intakeSubsystem, loaderSubsystem);
     this.intakeSubsystem = intakeSubsystem;
     this.loaderSubsystem = loaderSubsystem;
+    this.shooterSubsystem = null;
+  }
 
+  /**
+   * @param shooterSubsystem Shoots opponent balls out while intaking
+   * @param reject Turn on/off ball rejection
+   */
+  public RunIntake(IntakeSubsystem intakeSubsystem, LoaderSubsystem loaderSubsystem,
+      ShooterSubsystem shooterSubsystem, boolean reject) {
+    this.intakeSubsystem = intakeSubsystem;
+    this.loaderSubsystem = loaderSubsystem;
+    this.shooterSubsystem = reject ? shooterSubsystem : null;
+    if (reject) {
+      addRequirements(intakeSubsystem, loaderSubsystem, shooterSubsystem);
+    } else {
+      addRequirements(intakeSubsystem, loaderSubsystem);
+    }
   }
 
   // Called when the command is initially scheduled.
   @Override
   public void initialize() {
+    rejecting = false;
+    feeding = false;
 
     // Start motors at speed safe for deploy
     loaderSubsystem.runLoader(MAX_LOADER_INTAKE_SPEED);
@@ -52,11 +84,57 @@ public class RunIntake extends CommandBase {
       intakeSubsystem.runIntake(MAX_INTAKE_PERCENT);
       intakeSubsystem.runIndexerLow(MAX_INDEXER_PERCENT);
 
-      if (IntakeSubsystem.isBallLow()) {
+      if (shooterSubsystem != null) {
+        reject();
+      } else if (IntakeSubsystem.isBallLow()) {
+        loaderSubsystem.runLoader(0);
+      }
+
+    }
+
+  private void reject() {
+    // Keep the wheels at reject speed so an opponent ball never waits on a spin up
+    shooterSubsystem.setPowerWheelRPM(SHOOTER_PROFILE_REJECT.getPowerRPM());
+    shooterSubsystem.setAimWheelRPM(SHOOTER_PROFILE_REJECT.getAimRPM());
+
+    if (!rejecting && inventory.isOpponentBallAtSensor()) {
+      rejecting = true;
+      feeding = false;
+    }
+
+    if (rejecting) {
+      BallInventory.Ball top = inventory.getBallCount() > 0 ? inventory.getBall(0) : null;
+      boolean opponentOnBoard = top != null && top.isOpponent();
+      if (!opponentOnBoard) {
+        rejecting = false;
+      } else if (!feeding && !shooterSubsystem.isAtSetpoint()) {
+        // Hold it at the sensor until the wheels are at reject speed, a slow wheel drops it in the robot
         loaderSubsystem.runLoader(0);
+        intakeSubsystem.runIndexerLow(0);
+        return;
+      } else {
+        // Once feeding, the shot itself pulls the wheels off their setpoint
+        if (!feeding) {
+          feeding = true;
+          rejectTimer.restart();
+        }
+        if (rejectTimer.get() > REJECT_TIME_BLUE) {
+          // The shot wasn't detected at reject speed, it's out by now
+          shooterSubsystem.recordUndetectedShot();
+          rejecting = false;
+        } else {
+          loaderSubsystem.runLoader(MAX_LOADER_SPEED);
+          // Hold our next ball below the sensor so the loader doesn't take it too
+          intakeSubsystem.runIndexerLow(0);
+          return;
+        }
       }
+    }
 
+    if (IntakeSubsystem.isBallLow()) {
+      loaderSubsystem.runLoader(0);
     }
+  }
   
 
   // Called once the command ends or is interrupted.
@@ -64,6 +142,7 @@ public class RunIntake extends CommandBase {
   public void end(boolean interrupted) {
     intakeSubsystem.disable();
     loaderSubsystem.disable();
+    if (shooterSubsystem != null) shooterSubsystem.disable();
     Candle.getInstance().changeLedState(LEDState.Idle);
   }
 
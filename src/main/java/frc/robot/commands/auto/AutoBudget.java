@@ -0,0 +1,270 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.commands.auto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.trajectory.Trajectory;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Timer;
+import frc.robot.utils.AutoStepLog;
+import frc.robot.utils.BallInventory;
+
+import static frc.robot.Constants.AutoConstants.*;
+
+/**
+ * How long each leg of an auto should take, checked against the time left in
+ * the autonomous period while it runs.
+ *
+ * Paths are estimated from their trajectory, shooting from how long past shots
+ * took until the last ball left. {@link AutoSequences} uses this to cut pauses
+ * short, skip a grab, drive and shoot that couldn't finish before the period
+ * ends, and stop driving to shoot what's on board while there is still time.
+ */
+public class AutoBudget {
+    private final AutoStepLog stepLog = AutoStepLog.getInstance();
+    private final BallInventory inventory = BallInventory.getInstance();
+
+    // Measured seconds from the start of a shoot step until the last ball left, by ball count
+    private final double[] shootTimes = new double[BallInventory.MAX_BALLS + 1];
+    private double shootStart = 0;
+    private int shootBalls = 0;
+
+    private enum Kind {
+        Path,
+        Shoot,
+        Fixed
+    }
+
+    // Legs of the auto being built
+    private List<Leg> legs = new ArrayList<>();
+    private int unitStart = -1;
+
+    public AutoBudget() {
+        shootTimes[1] = SHOOT_TIME_1B;
+        for (int balls = 2; balls < shootTimes.length; balls++) {
+            shootTimes[balls] = SHOOT_TIME_2B;
+        }
+    }
+
+    public Leg addPath(Trajectory trajectory) {
+        return add(new Leg(Kind.Path, trajectory.getTotalTimeSeconds()));
+    }
+
+    public Leg addShoot() {
+        return add(new Leg(Kind.Shoot, 0));
+    }
+
+    /**
+     * @param seconds Waits, turns and ejecting
+     */
+    public Leg addFixed(double seconds) {
+        return add(new Leg(Kind.Fixed, seconds));
+    }
+
+    /**
+     * Call before adding legs that only score together, e.g. a grab, the drive
+     * back and the shot
+     */
+    public void startUnit() {
+        unitStart = legs.size();
+    }
+
+    /**
+     * @return The legs added since {@link #startUnit()}
+     */
+    public Unit endUnit() {
+        Unit unit = new Unit(legs, unitStart, legs.size());
+        unitStart = -1;
+        return unit;
+    }
+
+    /**
+     * Call once every leg of an auto is added, the next legs start a new auto
+     */
+    public void endAuto() {
+        legs = new ArrayList<>();
+    }
+
+    /**
+     * @return Seconds left in the autonomous period
+     */
+    public double getRemainingTime() {
+        double matchTime = DriverStation.getMatchTime();
+        if (DriverStation.isFMSAttached() && matchTime >= 0) return matchTime;
+        // Practice and simulation don't always count down, go by when the auto started
+        return AUTO_PERIOD - (Timer.getFPGATimestamp() - stepLog.getStartTime());
+    }
+
+    /**
+     * @param connectorTime Seconds to drive to where the unit starts, see {@link #getConnectorTime}
+     * @return True if there isn't time to run every leg of this unit
+     */
+    public boolean shouldSkip(Unit unit, double connectorTime) {
+        // The first path also taxis out of the tarmac, always drive it
+        if (unit.hasFirstPath()) return false;
+        return getRemainingTime() < connectorTime + unit.getEstimate() + AUTO_TIME_MARGIN;
+    }
+
+    /**
+     * @return Seconds to drive between two poses off any path, 0 if they are
+     *         close enough not to need it
+     */
+    public double getConnectorTime(Pose2d from, Pose2d to) {
+        double distance = from.getTranslation().getDistance(to.getTranslation());
+        if (distance < CONNECTOR_MIN_DISTANCE) return 0;
+        // Cruise the whole way plus the time lost speeding up and slowing down
+        return distance / CONNECTOR_MAX_VELOCITY + CONNECTOR_MAX_VELOCITY / CONNECTOR_MAX_ACCELERATION;
+    }
+
+    /**
+     * @return True if the robot has to stop driving and shoot now to empty
+     *         before the period ends
+     */
+    public boolean shouldFireNow(Leg leg) {
+        if (!leg.isNextShoot() || inventory.isEmpty()) return false;
+        return getRemainingTime() < getShootTime(inventory.getBallCount()) + AUTO_TIME_MARGIN;
+    }
+
+    /**
+     * @return True once a pause would leave too little time for the legs up to
+     *         the next shot
+     */
+    public boolean shouldEndPause(Leg leg) {
+        return getRemainingTime() < leg.getTimeToShootAfter() + AUTO_TIME_MARGIN;
+    }
+
+    /**
+     * @return Seconds to shoot this many balls, from past shots
+     */
+    public double getShootTime(int balls) {
+        return shootTimes[Math.min(balls, shootTimes.length - 1)];
+    }
+
+    /**
+     * Call when a shoot step starts
+     */
+    public void startShoot() {
+        shootStart = Timer.getFPGATimestamp();
+        shootBalls = inventory.getBallCount();
+    }
+
+    /**
+     * @return True once the shoot step that is running has fired at least one
+     *         ball and the robot is confirmed empty. A ball the sensor never
+     *         saw still gets the full shoot time.
+     */
+    public boolean isShootDone() {
+        return inventory.hasShotSince(shootStart) && inventory.isConfirmedEmpty();
+    }
+
+    /**
+     * Call when a shoot step finishes on its own, records how long it took
+     */
+    public void endShoot() {
+        double lastShot = inventory.getLastShotTime();
+        // Only if every ball went, otherwise the time says nothing
+        if (shootBalls == 0 || !inventory.isEmpty() || Double.isNaN(lastShot) || lastShot < shootStart) return;
+        int balls = Math.min(shootBalls, shootTimes.length - 1);
+        shootTimes[balls] += SHOOT_TIME_FILTER * (lastShot - shootStart - shootTimes[balls]);
+    }
+
+    private Leg add(Leg leg) {
+        leg.legs = legs;
+        leg.index = legs.size();
+        legs.add(leg);
+        return leg;
+    }
+
+    /**
+     * One step of an auto
+     */
+    public class Leg {
+        private final Kind kind;
+        private final double estimate;
+        private List<Leg> legs;
+        private int index;
+
+        private Leg(Kind kind, double estimate) {
+            this.kind = kind;
+            this.estimate = estimate;
+        }
+
+        /**
+         * @return Seconds this leg should take
+         */
+        public double getEstimate() {
+            return kind == Kind.Shoot ? getShootTime(BallInventory.MAX_BALLS) : estimate;
+        }
+
+        /**
+         * @return Seconds from the end of this leg until the next shot is done,
+         *         0 if nothing is shot after it
+         */
+        public double getTimeToShootAfter() {
+            if (!hasShootAfter()) return 0;
+            double time = 0;
+            for (int i = index + 1; i < legs.size(); i++) {
+                time += legs.get(i).getEstimate();
+                if (legs.get(i).kind == Kind.Shoot) break;
+            }
+            return time;
+        }
+
+        private boolean hasShootAfter() {
+            for (int i = index + 1; i < legs.size(); i++) {
+                if (legs.get(i).kind == Kind.Shoot) return true;
+            }
+            return false;
+        }
+
+        private boolean isNextShoot() {
+            return index + 1 < legs.size() && legs.get(index + 1).kind == Kind.Shoot;
+        }
+
+        private boolean isFirstPath() {
+            if (kind != Kind.Path) return false;
+            for (int i = 0; i < index; i++) {
+                if (legs.get(i).kind == Kind.Path) return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Legs that are run or skipped together
+     */
+    public class Unit {
+        private final List<Leg> legs;
+        private final int start;
+        private final int end;
+
+        private Unit(List<Leg> legs, int start, int end) {
+            this.legs = legs;
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * @return Seconds every leg of this unit should take
+         */
+        public double getEstimate() {
+            double time = 0;
+            for (int i = start; i < end; i++) {
+                time += legs.get(i).getEstimate();
+            }
+            return time;
+        }
+
+        private boolean hasFirstPath() {
+            for (int i = start; i < end; i++) {
+                if (legs.get(i).isFirstPath()) return true;
+            }
+            return false;
+        }
+    }
+}
@@ -5,14 +5,20 @@
 package frc.robot.commands.auto;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
 
 import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.trajectory.Trajectory;
 import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.ConditionalCommand;
 import edu.wpi.first.wpilibj2.command.InstantCommand;
 import edu.wpi.first.wpilibj2.command.ParallelDeadlineGroup;
 import edu.wpi.first.wpilibj2.command.RunCommand;
+import edu.wpi.first.wpilibj2.command.SelectCommand;
 import edu.wpi.first.wpilibj2.command.SequentialCommandGroup;
 import edu.wpi.first.wpilibj2.command.WaitCommand;
+import frc.robot.RobotContainer;
 import static frc.robot.Constants.ShooterConstants.*;
 import static frc.robot.Constants.AutoConstants.*;
 
@@ -28,6 +34,8 @@ import frc.robot.subsystems.DriveSubsystem;
 import frc.robot.subsystems.IntakeSubsystem;
 import frc.robot.subsystems.LoaderSubsystem;
 import frc.robot.subsystems.ShooterSubsystem;
+import frc.robot.utils.AutoStepLog;
+import frc.robot.utils.BallInventory;
 import frc.robot.utils.NamedSequentialCommandGroup;
 import frc.robot.utils.ShooterProfiles;
 
@@ -41,8 +49,13 @@ public final class AutoSequences extends ArrayList<NamedSequentialCommandGroup>
     private final LoaderSubsystem loaderSubsystem;
     private final ShooterSubsystem shooterSubsystem;
     private final boolean reject;
+    private final AutoStepLog stepLog = AutoStepLog.getInstance();
+    private final BallInventory inventory = BallInventory.getInstance();
+    private final AutoBudget budget = new AutoBudget();
     private static final String FAST = "fast/output/";
     private static final String REGULAR = "regular/output/";
+    // Paths followed by the auto being built, collected while its commands are created
+    private List<Trajectory> trajectories = new ArrayList<>();
 
     public AutoSequences(DriveSubsystem driveSubsystem, IntakeSubsystem intakeSubsystem,
             LoaderSubsystem loaderSubsystem,
@@ -78,7 +91,7 @@ public final class AutoSequences extends ArrayList<NamedSequentialCommandGroup>
                         new ParallelDeadlineGroup(
                                 idleDrive(), 
                                 new ParallelDeadlineGroup(
-                                        new WaitCommand(2)
+                                        pause(2)
                 )))
         );       
 
@@ -147,14 +160,16 @@ public final class AutoSequences extends ArrayList<NamedSequentialCommandGroup>
         this.add(
                 "2 Ball Alt 1",
                 "4BGrab1stSet",
-                grabGrabShoot("4BGrab1stSet", "4BShoot1stSet", SHOOT_TIME_2B + 5, SHOOTER_PROFILE_HIGH, 2, REGULAR)
-                );
+                new SequentialCommandGroup(
+                        grabGrabShoot("4BGrab1stSet", "4BShoot1stSet", SHOOT_TIME_2B + 5, SHOOTER_PROFILE_HIGH, 2, REGULAR)
+                ));
         // Grabs another different second ball and shoots
         this.add(
                 "2 Ball Alt 2",
                 "2BAlt2Grab",
-                grabDriveShoot("2BAlt2Grab", "2BAlt2Shoot", SHOOT_TIME_2B, SHOOTER_PROFILE_HIGH, REGULAR)
-                );
+                new SequentialCommandGroup(
+                        grabDriveShoot("2BAlt2Grab", "2BAlt2Shoot", SHOOT_TIME_2B, SHOOTER_PROFILE_HIGH, REGULAR)
+                ));
 
         // Shoots first ball, grabs second and third, then shoots
         this.add(
@@ -226,7 +241,7 @@ public final class AutoSequences extends ArrayList<NamedSequentialCommandGroup>
                 "4BGrab1stSet",
                 new SequentialCommandGroup(
                         grabDriveShoot("4BGrab1stSet", "4BShoot1stSet", SHOOT_TIME_2B, SHOOTER_PROFILE_HIGH, FAST),
-                        grabDriveShoot("5BGrab2ndRed", "5BShoot2ndRed", SHOOT_TIME_1B, SHOOTER_PROFILE_HIGH, FAST),
+                        grabDriveShoot("5BGrab2nd", "5BShoot2nd", SHOOT_TIME_1B, SHOOTER_PROFILE_HIGH, FAST),
                         grabDriveShoot("5BGrab3rdSetRed", "5BShoot3rdSetRed", SHOOT_TIME_2B, SHOOTER_PROFILE_HIGH, FAST)
 
                 ));
@@ -250,7 +265,7 @@ public final class AutoSequences extends ArrayList<NamedSequentialCommandGroup>
                         grab("5BAlt1Grab1stSet1", FAST),
                         turnToAngle(angleFromPath("5BAlt1Grab1stSet2", FAST)),
                         grabDriveShoot("5BAlt1Grab1stSet2", "5BAlt1Shoot1stSet", SHOOT_TIME_2B, SHOOTER_PROFILE_HIGH, FAST),
-                        grabDriveShoot("5BAlt1Grab2ndSetRed", "5BAlt1Shoot2ndSetRed", SHOOT_TIME_2B, SHOOTER_PROFILE_HIGH, FAST)
+                        grabDriveShoot("5BAlt1Grab2ndSet", "5BAlt1Shoot2ndSet", SHOOT_TIME_2B, SHOOTER_PROFILE_HIGH, FAST)
                 ));
 
         this.add(
@@ -265,12 +280,19 @@ public final class AutoSequences extends ArrayList<NamedSequentialCommandGroup>
         
         this.add(new NamedSequentialCommandGroup(
                 new SequentialCommandGroup(
-                        new InstantCommand(() -> driveSubsystem.resetOdometry(getStartPose(firstPath, REGULAR)), driveSubsystem),
+                        new InstantCommand(() -> {
+                            stepLog.startAuto(name);
+                            inventory.reset(PRELOADED_BALLS);
+                            driveSubsystem.resetOdometry(FollowTrajectory.getAllianceTrajectory(firstPath,
+                                    RobotContainer.getTeamColor()).getInitialPose());
+                        }, driveSubsystem),
                         cmd,
+                        new InstantCommand(stepLog::finishAuto),
                         idleDrive()),
-                name));
-
-       
+                name,
+                trajectories));
+        trajectories = new ArrayList<>();
+        budget.endAuto();
     }
 
     /**
@@ -280,13 +302,91 @@ public final class AutoSequences extends ArrayList<NamedSequentialCommandGroup>
     private RunCommand idleDrive() {
         return new RunCommand(() -> driveSubsystem.disable(), driveSubsystem);
     }
+
+    /**
+     * Marks the start and end of a step in the {@link AutoStepLog}
+     * @param name
+     * @param command
+     * @return Built command
+     */
+    private Command step(String name, Command command) {
+        return command.beforeStarting(() -> stepLog.startStep(name)).andThen(stepLog::endStep);
+    }
     
-    private TurnToAngle turnToAngle(double angle) {
-        return new TurnToAngle(driveSubsystem, angle);
+    /**
+     * Marks a path step, cut short to shoot before the period ends
+     * @param name
+     * @param pathName
+     * @param command Drives the path
+     * @return Built command
+     */
+    private Command pathStep(String name, String pathName, Command command) {
+        AutoBudget.Leg leg = budget.addPath(FollowTrajectory.getAllianceTrajectory(pathName, false));
+        return step(name, command.withInterrupt(() -> budget.shouldFireNow(leg)));
+    }
+
+    /**
+     * Legs that only score together, skipped as a whole if there isn't time to
+     * drive to the first path and finish every leg
+     * @param firstPath Path the unit starts with
+     * @param legs Builds the legs, after the unit is started in the budget
+     * @return Built command
+     */
+    private Command unit(String firstPath, Supplier<Command> legs) {
+        budget.startUnit();
+        Command command = legs.get();
+        AutoBudget.Unit unit = budget.endUnit();
+        return new ConditionalCommand(
+                step("Skip " + firstPath, new InstantCommand()),
+                command,
+                () -> budget.shouldSkip(unit, budget.getConnectorTime(driveSubsystem.getPose(), getAllianceStart(firstPath))));
     }
 
-    private TurnSimple turnTimed(double time, double volts) {
-        return new TurnSimple(driveSubsystem, time, volts);
+    private Command turnToAngle(double angle) {
+        budget.addFixed(TURN_TIME_ESTIMATE);
+        return step("Turn to " + angle, new TurnToAngle(driveSubsystem, angle));
+    }
+
+    private Command turnTimed(double time, double volts) {
+        budget.addFixed(time);
+        return step("Turn", new TurnSimple(driveSubsystem, time, volts));
+    }
+
+    /**
+     * Wait, ends early if the legs up to the next shot need the time
+     */
+    private Command pause(double seconds) {
+        AutoBudget.Leg leg = budget.addFixed(seconds);
+        return step("Wait", new WaitCommand(seconds).withInterrupt(() -> budget.shouldEndPause(leg)));
+    }
+
+    /**
+     * Follow a path drawn for blue on our alliance's side, picked when it starts
+     * since the alliance isn't known while autos are built
+     */
+    private Command follow(String pathName, String folderName) {
+        trajectories.add(FollowTrajectory.getAllianceTrajectory(pathName, false));
+        return new SequentialCommandGroup(
+                connect(pathName),
+                new ConditionalCommand(
+                        FollowTrajectory.followAllianceTrajectory(driveSubsystem, pathName, true),
+                        FollowTrajectory.followAllianceTrajectory(driveSubsystem, pathName, false),
+                        RobotContainer::getTeamColor));
+    }
+
+    /**
+     * Drive to the start of a path first if the robot isn't there, e.g. after
+     * the legs before it were skipped or cut short
+     */
+    private Command connect(String pathName) {
+        return new SelectCommand(() -> {
+            Pose2d start = getAllianceStart(pathName);
+            Pose2d pose = driveSubsystem.getPose();
+            if (pose.getTranslation().getDistance(start.getTranslation()) < CONNECTOR_MIN_DISTANCE) {
+                return new InstantCommand();
+            }
+            return FollowTrajectory.followConnector(driveSubsystem, pose, start);
+        });
     }
 
     /**
@@ -294,14 +394,14 @@ public final class AutoSequences extends ArrayList<NamedSequentialCommandGroup>
      * @param pathName
      * @return
      */
-    private ParallelDeadlineGroup grab(String pathName, String folderName) {
-        return new ParallelDeadlineGroup(
-                FollowTrajectory.followTrajectoryFromJSON(driveSubsystem, pathName, folderName),
+    private Command grab(String pathName, String folderName) {
+        return pathStep("Grab " + pathName, pathName, new ParallelDeadlineGroup(
+                follow(pathName, folderName),
                 new SequentialCommandGroup(
                         new DeployIntake(intakeSubsystem)
                         .andThen(new RunIntake(intakeSubsystem, loaderSubsystem))
                 ),
-                new IdleShooter(shooterSubsystem));
+                new IdleShooter(shooterSubsystem)));
     }
 
     /**
@@ -310,9 +410,9 @@ public final class AutoSequences extends ArrayList<NamedSequentialCommandGroup>
      * @param grabTime
      * @return Built command
      */
-    private ParallelDeadlineGroup grabTimed(String pathName, double grabTime, String folderName) {
-        return new ParallelDeadlineGroup(
-                FollowTrajectory.followTrajectoryFromJSON(driveSubsystem, pathName, folderName),
+    private Command grabTimed(String pathName, double grabTime, String folderName) {
+        return pathStep("Grab " + pathName, pathName, new ParallelDeadlineGroup(
+                follow(pathName, folderName),
                 new SequentialCommandGroup(
                         new ParallelDeadlineGroup(
                                 new WaitCommand(grabTime),
@@ -320,24 +420,27 @@ public final class AutoSequences extends ArrayList<NamedSequentialCommandGroup>
                                 .andThen(new RunIntake(intakeSubsystem, loaderSubsystem))  
                 ),
                 
-                new IdleShooter(shooterSubsystem)));
+                new IdleShooter(shooterSubsystem))));
     }
 
     private Command drive(String pathName, String folderName) {
-        return new ParallelDeadlineGroup(FollowTrajectory.followTrajectoryFromJSON(driveSubsystem, pathName, folderName), new IdleShooter(shooterSubsystem));
+        return pathStep("Drive " + pathName, pathName,
+                new ParallelDeadlineGroup(follow(pathName, folderName), new IdleShooter(shooterSubsystem)));
     }
 
     /**
-     * Shoot for a given time
+     * Shoot for a given time, or until the last ball is gone
      * @param time
      * @param shooterProfile
      * @return Built command
      */
-    private ParallelDeadlineGroup shoot(double time, ShooterProfiles shooterProfile) {
-        return new ParallelDeadlineGroup(
-                new WaitCommand(time),
+    private Command shoot(double time, ShooterProfiles shooterProfile) {
+        budget.addShoot();
+        return step("Shoot", new ParallelDeadlineGroup(
+                new WaitCommand(time).withInterrupt(budget::isShootDone),
                 new Shoot(intakeSubsystem, loaderSubsystem, shooterSubsystem, shooterProfile, reject),
-                idleDrive());
+                idleDrive())
+                .beforeStarting(budget::startShoot).andThen(budget::endShoot));
     }
 
     /**
@@ -345,29 +448,37 @@ public final class AutoSequences extends ArrayList<NamedSequentialCommandGroup>
      * @param time
      * @return
      */
-    private ParallelDeadlineGroup eject(double time) {
-        return new ParallelDeadlineGroup(
+    private Command eject(double time) {
+        budget.addFixed(time);
+        return step("Eject", new ParallelDeadlineGroup(
                 new WaitCommand(time), 
                 new EjectBalls(intakeSubsystem, loaderSubsystem),
-                idleDrive());
+                idleDrive()));
     }
 
-    private SequentialCommandGroup grabDriveShoot(String grabPath, String drivePath, double time, ShooterProfiles shooterProfile, String folderName) {
-        return new SequentialCommandGroup(
+    private Command grabDriveShoot(String grabPath, String drivePath, double time, ShooterProfiles shooterProfile, String folderName) {
+        return unit(grabPath, () -> new SequentialCommandGroup(
                 grab(grabPath, folderName), drive(drivePath, folderName), shoot(time, shooterProfile)
-        );
+        ));
     }
 
-    private SequentialCommandGroup grabDriveShootWait(String grabPath, String drivePath, double time, ShooterProfiles shooterProfile, double seconds, String folderName) {
-        return new SequentialCommandGroup(
-                grab(grabPath, folderName), new WaitCommand(seconds), drive(drivePath, folderName), shoot(time, shooterProfile)
-        );
+    private Command grabDriveShootWait(String grabPath, String drivePath, double time, ShooterProfiles shooterProfile, double seconds, String folderName) {
+        return unit(grabPath, () -> new SequentialCommandGroup(
+                grab(grabPath, folderName), pause(seconds), drive(drivePath, folderName), shoot(time, shooterProfile)
+        ));
     }
 
-    private SequentialCommandGroup grabGrabShoot(String grabPath, String drivePath, double shootTime, ShooterProfiles shooterProfile, double grabTime, String folderName) {
-        return new SequentialCommandGroup(
+    private Command grabGrabShoot(String grabPath, String drivePath, double shootTime, ShooterProfiles shooterProfile, double grabTime, String folderName) {
+        return unit(grabPath, () -> new SequentialCommandGroup(
                 grab(grabPath, folderName), grabTimed(drivePath, grabTime, folderName), shoot(shootTime, shooterProfile)
-        );
+        ));
+    }
+
+    /**
+     * @return Where a path starts on our alliance's side
+     */
+    private Pose2d getAllianceStart(String pathName) {
+        return FollowTrajectory.getAllianceTrajectory(pathName, RobotContainer.getTeamColor()).getInitialPose();
     }
 
     private Pose2d getStartPose(String pathName, String folderName) {
@@ -148,8 +148,9 @@ public class ArmsToSetpoints extends CommandBase {
     }
     else if (!stopRoatator) {
       if(!stallRotate) {
-        climbingSubsystem.setLeftRotationVolts(leftRotateDesired);
-        climbingSubsystem.setRightRotationVolts(rightRotateDesired);
+        // Gravity feedforward holds the arms once they reach the setpoint
+        climbingSubsystem.setLeftRotationVoltsFeedforward(leftRotateDesired, 0);
+        climbingSubsystem.setRightRotationVoltsFeedforward(rightRotateDesired, 0);
       }
     }
     if(!stopExtender) {
@@ -161,13 +162,24 @@ public class ArmsToSetpoints extends CommandBase {
   }
 
   private double rotatorDesiredOutput(double setpoint, double position) {
-    if (isWithinThreshold(setpoint, position, ROTATION_SETPOINT_THRESHOLD)) return 0;
-    return rotatorVoltage * Math.signum(setpoint - position);
+    return desiredOutput(setpoint, position, ROTATION_SETPOINT_THRESHOLD, rotatorVoltage);
   }
 
   private double extenderDesiredOutput(double setpoint, double position) {
-    if (isWithinThreshold(setpoint, position, EXTENDER_SETPOINT_THRESHOLD)) return 0;
-    return extenderVoltage * Math.signum(setpoint - position);
+    return desiredOutput(setpoint, position, EXTENDER_SETPOINT_THRESHOLD, extenderVoltage);
+  }
+
+  /**
+   * Bang-bang output towards a setpoint
+   * @param setpoint
+   * @param position
+   * @param threshold Stop once within this distance
+   * @param voltage Output magnitude
+   * @return Signed voltage, 0 at the setpoint
+   */
+  public static double desiredOutput(double setpoint, double position, double threshold, double voltage) {
+    if (Math.abs(setpoint - position) < threshold) return 0;
+    return voltage * Math.signum(setpoint - position);
   }
 
   // Called once the command ends or is interrupted.
@@ -1,82 +1,239 @@
 package frc.robot.commands.climber;
 
-import java.util.function.BooleanSupplier;
+import java.util.List;
+import java.util.function.Consumer;
 
-import edu.wpi.first.wpilibj2.command.InstantCommand;
-import edu.wpi.first.wpilibj2.command.ParallelDeadlineGroup;
-import edu.wpi.first.wpilibj2.command.SequentialCommandGroup;
-import edu.wpi.first.wpilibj2.command.WaitCommand;
-import edu.wpi.first.wpilibj2.command.WaitUntilCommand;
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.controller.PIDController;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.robot.subsystems.ClimbingSubsystem;
+import frc.robot.utils.ArmSpeeds;
+import frc.robot.utils.ArmTrajectory;
 import frc.robot.utils.Candle;
+import frc.robot.utils.Logging;
+import frc.robot.utils.SensorEvents;
 import frc.robot.utils.Candle.LEDState;
 
 import static frc.robot.Constants.ClimberConstants.*;
+import static frc.robot.commands.climber.ClimbPhase.*;
 
+/**
+ * Runs the traversal climb as a list of {@link ClimbPhase}s.
+ * 
+ * A phase starts as soon as its entry condition holds and the previous phase is
+ * inside its exit window, so rotation of one phase overlaps with the extension
+ * of the next wherever it is safe. Stall phases end when the swing has settled
+ * instead of after a fixed wait.
+ *
+ * Each phase plans one {@link ArmTrajectory} from where the arms are when it
+ * starts, and the arms track it with PID. The phase voltages set how fast the
+ * profile cruises and cap the output.
+ *
+ * Each press of proceed lets one gated phase start. Presses only count while
+ * the climb is waiting at a gate, one made while the arms are still moving is
+ * ignored so it can't carry over to a later gate.
+ */
+public class AutoClimb extends CommandBase {
 
-public class AutoClimb extends SequentialCommandGroup{
-   
-
+    private final ClimbingSubsystem climbingSubsystem;
+    private final List<ClimbPhase> phases;
+    private final ArmTrajectory[] trajectories;
+    private final PIDController syncExtender = new PIDController(SYNC_KP, 0, 0);
+    private final PIDController leftExtender = new PIDController(CLIMB_EXTENDER_KP, 0, 0);
+    private final PIDController rightExtender = new PIDController(CLIMB_EXTENDER_KP, 0, 0);
+    private final PIDController leftRotator = new PIDController(CLIMB_ROTATOR_KP, 0, 0);
+    private final PIDController rightRotator = new PIDController(CLIMB_ROTATOR_KP, 0, 0);
+    private final Timer phaseTimer = new Timer();
+    private final Timer climbTimer = new Timer();
 
-    public AutoClimb(ClimbingSubsystem climbingSubsystem, BooleanSupplier proceed) {
+    private boolean proceedPressed = false;
+    // Only subscribed while the climb is running
+    private final Consumer<SensorEvents.Event> proceedListener = (event) -> {
+        if (isWaitingAtGate()) proceedPressed = true;
+    };
+    private int phaseIndex;
+    private boolean phaseComplete;
+    private double lengthTarget;
+    private double angleTarget;
+    private double extenderVoltage;
+    private double rotatorVoltage;
+    private ArmTrajectory trajectory;
 
+    /**
+     * @param climbingSubsystem Gated phases wait for {@link SensorEvents.Type#ProceedPressed}
+     */
+    public AutoClimb(ClimbingSubsystem climbingSubsystem) {
         addRequirements(climbingSubsystem);
-        addCommands(
-            new InstantCommand(() -> {Candle.getInstance().changeLedState(LEDState.Climbing);}),
+        this.climbingSubsystem = climbingSubsystem;
+        this.phases = List.of(
 
             // First Bar Transfer
-            // Rotate arms back @ default speed
-            new ArmsToSetpoints(25, climbingSubsystem), // 25
-            // Extend arms to high bar @ default speed
-            new ArmsToSetpoints(climbingSubsystem, 0.77, 25, MAX_EXTENDER_VOLTS, 3), 
-            new WaitUntilCommand(proceed),
+            // Rotate arms back @ default speed, extension may start once clear of the mid bar
+            new ClimbPhase("Rotate back").rotate(25).exitWithin(EXTENDER_SETPOINT_THRESHOLD, 5),
+            // Extend arms to high bar
+            new ClimbPhase("Extend to high bar").extend(0.77).rotate(25, 3).enterWhen(anglesAbove(20)),
             // Rotate arms to smack high bar @ default speed
-            new ArmsToSetpoints(17, climbingSubsystem), 
-            new WaitUntilCommand(proceed),
-            // Slip hooks off mid bar, stall at 9 degrees
-            //new ArmsToSetpoints(climbingSubsystem, 0.57, 9, DROP_EXTENDER_VOLTS, 3.5, true, false),
-            // Brake mode stops arms from slamming
-            new ParallelDeadlineGroup(
-                // Wait while stalling at 9 degrees
-                new WaitCommand(1),
-                new ArmsToSetpoints(climbingSubsystem, 0.45, 9, DROP_EXTENDER_VOLTS, 3.5, true, true)
-            ), 
-            // Click hooks onto high bar @ default speed
-            new ArmsToSetpoints(climbingSubsystem, 0.45, -0.5, DROP_EXTENDER_VOLTS, MAX_ROTATOR_VOLTS), 
-            // new WaitCommand(.1),
+            new ClimbPhase("Smack high bar").rotate(17).requireProceed(),
+            // Slip hooks off mid bar, brake mode stops arms from slamming. Done once the swing settles
+            new ClimbPhase("Slip off mid bar").extend(0.45, DROP_EXTENDER_VOLTS).stallRotate().requireProceed()
+                .exitWhen(anglesBelow(10)).timed(0.25, 1),
             // Click hooks onto high bar @ default speed
-            new ArmsToSetpoints(climbingSubsystem, -0.01, -0.5, PULLUP_VOLTS, MAX_ROTATOR_VOLTS), //-0.01 length setpoint
-            new WaitUntilCommand(proceed),
+            new ClimbPhase("Click onto high bar").extend(0.45, DROP_EXTENDER_VOLTS).rotate(-0.5)
+                .exitWithin(EXTENDER_SETPOINT_THRESHOLD, 3),
+            // Pull up once hooks are seated
+            new ClimbPhase("Pull up").extend(-0.01, PULLUP_VOLTS).rotate(-0.5)
+                .enterWhen(anglesBelow(2.5).or(backLimits())),
             // Drop high bar into hooks @ slow speed
-            new ArmsToSetpoints(climbingSubsystem, 0.25, 0, DROP_EXTENDER_VOLTS, MAX_ROTATOR_VOLTS), 
-            new WaitUntilCommand(proceed),
-            
+            new ClimbPhase("Drop into hooks").extend(0.25, DROP_EXTENDER_VOLTS).rotate(0).requireProceed(),
 
             // Second Bar Transfer
             // Rotate arms back @ default speed
-            new ArmsToSetpoints(24, climbingSubsystem), 
-            // Extend arms almost to traverse bar @ default speed
-            new ArmsToSetpoints(climbingSubsystem, 0.5, 24,  MAX_EXTENDER_VOLTS, 3), 
-            new WaitUntilCommand(proceed), 
+            new ClimbPhase("Rotate back 2").rotate(24).requireProceed().exitWithin(EXTENDER_SETPOINT_THRESHOLD, 5),
+            // Extend arms almost to traverse bar
+            new ClimbPhase("Extend near traverse").extend(0.5).rotate(24, 3).enterWhen(anglesAbove(19)),
             // Finish extension to get bar traverse bar @ default speed
-            new ArmsToSetpoints(climbingSubsystem, 0.77, 23.5),
-            new WaitUntilCommand(proceed),
-            // Rotate arms to smack high bar @ default speed
-            new ArmsToSetpoints(17, climbingSubsystem), 
-            new WaitUntilCommand(proceed),
-            // Pull halfway up traverse bar @ slow speed
-            // new ArmsToSetpoints(climbingSubsystem, 0.3, DROP_EXTENDER_VOLTS, MAX_ROTATOR_VOLTS), 
+            new ClimbPhase("Extend to traverse").extend(0.77).rotate(23.5).requireProceed(),
+            // Rotate arms to smack traverse bar @ default speed
+            new ClimbPhase("Smack traverse bar").rotate(17).requireProceed(),
             // Brake mode stops arms from slamming into hard stops
-            new ParallelDeadlineGroup(
-                // Wait while stalling at 9 degrees
-                new WaitCommand(1),
-                new ArmsToSetpoints(climbingSubsystem, 0.45, 9, DROP_EXTENDER_VOLTS, 3.5, true, true)
-            ), 
-            // // Click hooks onto traverse bar @ default speed
-            // new ArmsToSetpoints(climbingSubsystem, 0.3, 6, DROP_EXTENDER_VOLTS, MAX_ROTATOR_VOLTS), 
+            new ClimbPhase("Slip off high bar").extend(0.45, DROP_EXTENDER_VOLTS).stallRotate().requireProceed()
+                .exitWhen(anglesBelow(10)).timed(0.25, 1),
             // Click hooks onto traverse bar @ default speed
-            new ArmsToSetpoints(climbingSubsystem, 0.00, 0, PULLUP_VOLTS, MAX_ROTATOR_VOLTS)  // 0.00 length
+            new ClimbPhase("Click onto traverse").extend(0, PULLUP_VOLTS).rotate(0)
         );
+        this.trajectories = createTrajectories(phases);
+    }
+
+    /**
+     * Sizes each phase's profile from the voltages it drives with, carried over
+     * the same way as the setpoints. Axes that aren't driven stay neutral.
+     */
+    private static ArmTrajectory[] createTrajectories(List<ClimbPhase> phases) {
+        ArmTrajectory[] trajectories = new ArmTrajectory[phases.size()];
+        double extenderVoltage = 0;
+        double rotatorVoltage = 0;
+        for (int i = 0; i < phases.size(); i++) {
+            ClimbPhase phase = phases.get(i);
+            if (!Double.isNaN(phase.getLengthSetpoint())) extenderVoltage = phase.getExtenderVoltage();
+            if (!Double.isNaN(phase.getAngleSetpoint())) rotatorVoltage = phase.getRotatorVoltage();
+            // The subsystem clamps the rotators, so don't plan faster than that
+            double rotatorVelocity = phase.isStallRotate() ? 0
+                    : Math.min(rotatorVoltage, MAX_ROTATOR_VOLTS) * CLIMB_ROTATOR_VELOCITY_PER_VOLT;
+            trajectories[i] = new ArmTrajectory(new ArmSpeeds(
+                    rotatorVelocity, CLIMB_ROTATOR_MAX_ACCELERATION,
+                    extenderVoltage * CLIMB_EXTENDER_VELOCITY_PER_VOLT, CLIMB_EXTENDER_MAX_ACCELERATION));
+        }
+        return trajectories;
+    }
+
+    @Override
+    public void initialize() {
+        Candle.getInstance().changeLedState(LEDState.Climbing);
+        lengthTarget = Double.NaN;
+        angleTarget = Double.NaN;
+        proceedPressed = false;
+        climbTimer.reset();
+        climbTimer.start();
+        startPhase(0);
+        SensorEvents.getInstance().subscribe(SensorEvents.Type.ProceedPressed, proceedListener);
+    }
+
+    @Override
+    public void execute() {
+        if (phaseComplete && phaseIndex + 1 < phases.size()
+                && phases.get(phaseIndex + 1).canEnter(climbingSubsystem, proceedPressed)) {
+            startPhase(phaseIndex + 1);
+        }
+
+        ClimbPhase phase = phases.get(phaseIndex);
+        driveArms(phase);
+
+        if (!phaseComplete && phase.isComplete(climbingSubsystem, phaseTimer.get(), lengthTarget, angleTarget)) {
+            phaseComplete = true;
+            if (Logging.climb) {
+                SmartDashboard.putNumber("Climb " + phase.getName() + " time", phaseTimer.get());
+            }
+        }
+    }
+
+    private void startPhase(int index) {
+        ClimbPhase phase = phases.get(index);
+        phaseIndex = index;
+        phaseComplete = false;
+        // Each press only opens one gate
+        if (phase.isProceedRequired()) proceedPressed = false;
+        phaseTimer.reset();
+        phaseTimer.start();
+
+        // Unset axes keep settling to the previous phase's setpoint
+        if (!Double.isNaN(phase.getLengthSetpoint())) {
+            lengthTarget = phase.getLengthSetpoint();
+            extenderVoltage = phase.getExtenderVoltage();
+        }
+        if (!Double.isNaN(phase.getAngleSetpoint())) {
+            angleTarget = phase.getAngleSetpoint();
+            rotatorVoltage = phase.getRotatorVoltage();
+        }
+        // Plan once per phase from where the arms are, averaged across both sides
+        trajectory = trajectories[index];
+        trajectory.plan(
+                (climbingSubsystem.getLeftLength() + climbingSubsystem.getRightLength()) / 2,
+                (climbingSubsystem.getLeftAngle() + climbingSubsystem.getRightAngle()) / 2,
+                lengthTarget, angleTarget);
+        Candle.getInstance().incrementClimb();
+        if (Logging.climb) {
+            SmartDashboard.putString("Climb phase", phase.getName());
+        }
+    }
+
+    private boolean isWaitingAtGate() {
+        return phaseComplete && phaseIndex + 1 < phases.size() && phases.get(phaseIndex + 1).isProceedRequired();
+    }
+
+    private void driveArms(ClimbPhase phase) {
+        // Holds at the goal once the profile has finished
+        trajectory.sample(phaseTimer.get());
+
+        if (phase.isStallRotate()) {
+            climbingSubsystem.setLeftRotationVolts(0, true);
+            climbingSubsystem.setRightRotationVolts(0, true);
+        } else if (!Double.isNaN(angleTarget)) {
+            double angle = trajectory.getAngle();
+            double velocity = trajectory.getAngleVelocity();
+            climbingSubsystem.setLeftRotationVoltsFeedforward(MathUtil.clamp(
+                leftRotator.calculate(climbingSubsystem.getLeftAngle(), angle), -rotatorVoltage, rotatorVoltage), velocity);
+            climbingSubsystem.setRightRotationVoltsFeedforward(MathUtil.clamp(
+                rightRotator.calculate(climbingSubsystem.getRightAngle(), angle), -rotatorVoltage, rotatorVoltage), velocity);
+        }
+
+        if (!Double.isNaN(lengthTarget)) {
+            double length = trajectory.getLength();
+            double extError = climbingSubsystem.getLeftLength() - climbingSubsystem.getRightLength();
+            double syncOutput = MathUtil.clamp(syncExtender.calculate(extError, 0), -MAX_PID_VOLTS, MAX_PID_VOLTS);
+            double leftDesired = MathUtil.clamp(
+                leftExtender.calculate(climbingSubsystem.getLeftLength(), length), -extenderVoltage, extenderVoltage);
+            double rightDesired = MathUtil.clamp(
+                rightExtender.calculate(climbingSubsystem.getRightLength(), length), -extenderVoltage, extenderVoltage);
+            climbingSubsystem.setLeftExtensionVolts(MathUtil.clamp(leftDesired + syncOutput, -10, 10));
+            climbingSubsystem.setRightExtensionVolts(MathUtil.clamp(rightDesired - syncOutput, -10, 10));
+        }
+    }
+
+    @Override
+    public void end(boolean interrupted) {
+        SensorEvents.getInstance().unsubscribe(SensorEvents.Type.ProceedPressed, proceedListener);
+        climbingSubsystem.setRotationVolts(0);
+        climbingSubsystem.setExtensionVolts(0);
+        if (Logging.climb) {
+            SmartDashboard.putNumber("Climb total time", climbTimer.get());
+        }
+    }
+
+    @Override
+    public boolean isFinished() {
+        return phaseIndex == phases.size() - 1 && phaseComplete;
     }
 }
 
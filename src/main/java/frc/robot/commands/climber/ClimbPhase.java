@@ -0,0 +1,211 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.commands.climber;
+
+import java.util.function.Predicate;
+
+import frc.robot.subsystems.ClimbingSubsystem;
+
+import static frc.robot.Constants.ClimberConstants.*;
+
+/**
+ * One stage of {@link AutoClimb}.
+ *
+ * Setpoints that are not set carry over from the previous phase, so an axis
+ * keeps settling while the next phase already moves the other one. A phase is
+ * only entered once its entry condition holds, and is complete once both axes
+ * are inside its exit window (or it times out).
+ */
+public class ClimbPhase {
+    private final String name;
+
+    private double lengthSetpoint = Double.NaN;
+    private double angleSetpoint = Double.NaN;
+    private double extenderVoltage = MAX_EXTENDER_VOLTS;
+    private double rotatorVoltage = MAX_ROTATOR_VOLTS;
+    private boolean stallRotate = false;
+
+    private double lengthWindow = EXTENDER_SETPOINT_THRESHOLD;
+    private double angleWindow = ROTATION_SETPOINT_THRESHOLD;
+    private double minSeconds = 0;
+    private double maxSeconds = Double.POSITIVE_INFINITY;
+
+    private boolean requireProceed = false;
+    private Predicate<ClimbingSubsystem> entryCondition = (climber) -> true;
+    private Predicate<ClimbingSubsystem> exitCondition = (climber) -> true;
+
+    public ClimbPhase(String name) {
+        this.name = name;
+    }
+
+    // Setpoints
+
+    /**
+     * @param lengthSetpoint Target length (m)
+     * @param extenderVoltage Output limit, also sets how fast the extension is profiled
+     */
+    public ClimbPhase extend(double lengthSetpoint, double extenderVoltage) {
+        this.lengthSetpoint = lengthSetpoint;
+        this.extenderVoltage = extenderVoltage;
+        return this;
+    }
+
+    public ClimbPhase extend(double lengthSetpoint) {
+        return extend(lengthSetpoint, MAX_EXTENDER_VOLTS);
+    }
+
+    /**
+     * @param angleSetpoint Target rotation (deg)
+     * @param rotatorVoltage Output limit, also sets how fast the rotation is profiled
+     */
+    public ClimbPhase rotate(double angleSetpoint, double rotatorVoltage) {
+        this.angleSetpoint = angleSetpoint;
+        this.rotatorVoltage = rotatorVoltage;
+        this.stallRotate = false;
+        return this;
+    }
+
+    public ClimbPhase rotate(double angleSetpoint) {
+        return rotate(angleSetpoint, MAX_ROTATOR_VOLTS);
+    }
+
+    /**
+     * Stall the rotators against the swing instead of driving to an angle
+     */
+    public ClimbPhase stallRotate() {
+        this.stallRotate = true;
+        return this;
+    }
+
+    // Entry conditions
+
+    /**
+     * Wait for the driver to press proceed before entering this phase
+     */
+    public ClimbPhase requireProceed() {
+        this.requireProceed = true;
+        return this;
+    }
+
+    public ClimbPhase enterWhen(Predicate<ClimbingSubsystem> condition) {
+        this.entryCondition = this.entryCondition.and(condition);
+        return this;
+    }
+
+    // Exit conditions
+
+    /**
+     * Widen the exit window so the next phase may start while this one settles.
+     * The arms still drive to the exact setpoint.
+     * @param lengthWindow Allowed length error (m)
+     * @param angleWindow Allowed angle error (deg)
+     */
+    public ClimbPhase exitWithin(double lengthWindow, double angleWindow) {
+        this.lengthWindow = lengthWindow;
+        this.angleWindow = angleWindow;
+        return this;
+    }
+
+    public ClimbPhase exitWhen(Predicate<ClimbingSubsystem> condition) {
+        this.exitCondition = this.exitCondition.and(condition);
+        return this;
+    }
+
+    /**
+     * @param minSeconds Never complete before this time
+     * @param maxSeconds Always complete after this time
+     */
+    public ClimbPhase timed(double minSeconds, double maxSeconds) {
+        this.minSeconds = minSeconds;
+        this.maxSeconds = maxSeconds;
+        return this;
+    }
+
+    // Common conditions
+
+    public static Predicate<ClimbingSubsystem> anglesAbove(double angle) {
+        return (climber) -> climber.getLeftAngle() > angle && climber.getRightAngle() > angle;
+    }
+
+    public static Predicate<ClimbingSubsystem> anglesBelow(double angle) {
+        return (climber) -> climber.getLeftAngle() < angle && climber.getRightAngle() < angle;
+    }
+
+    public static Predicate<ClimbingSubsystem> lengthsWithin(double min, double max) {
+        return (climber) -> climber.getLeftLength() >= min && climber.getLeftLength() <= max
+                && climber.getRightLength() >= min && climber.getRightLength() <= max;
+    }
+
+    public static Predicate<ClimbingSubsystem> backLimits() {
+        return (climber) -> climber.isLeftBackAtLimit() && climber.isRightBackAtLimit();
+    }
+
+    // Getters
+
+    public boolean isProceedRequired() {
+        return requireProceed;
+    }
+
+    /**
+     * @param climber
+     * @param proceed Driver pressed proceed and it hasn't been used yet
+     * @return True if this phase may start
+     */
+    public boolean canEnter(ClimbingSubsystem climber, boolean proceed) {
+        return (!requireProceed || proceed) && entryCondition.test(climber);
+    }
+
+    /**
+     * @param climber
+     * @param seconds Time since this phase was entered
+     * @param lengthTarget Length being driven to (may be carried over)
+     * @param angleTarget Angle being driven to (may be carried over)
+     * @return True once the phase has finished
+     */
+    public boolean isComplete(ClimbingSubsystem climber, double seconds, double lengthTarget, double angleTarget) {
+        if (seconds < minSeconds) return false;
+        if (seconds >= maxSeconds) return true;
+        return isWithin(lengthTarget, climber.getLeftLength(), lengthWindow)
+                && isWithin(lengthTarget, climber.getRightLength(), lengthWindow)
+                && (stallRotate || (isWithin(angleTarget, climber.getLeftAngle(), angleWindow)
+                        && isWithin(angleTarget, climber.getRightAngle(), angleWindow)))
+                && exitCondition.test(climber);
+    }
+
+    private static boolean isWithin(double setpoint, double position, double window) {
+        // Axis has never been given a setpoint
+        if (Double.isNaN(setpoint)) return true;
+        return Math.abs(setpoint - position) < window;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getLengthSetpoint() {
+        return lengthSetpoint;
+    }
+
+    public double getAngleSetpoint() {
+        return angleSetpoint;
+    }
+
+    public double getExtenderVoltage() {
+        return extenderVoltage;
+    }
+
+    public double getRotatorVoltage() {
+        return rotatorVoltage;
+    }
+
+    public boolean isStallRotate() {
+        return stallRotate;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
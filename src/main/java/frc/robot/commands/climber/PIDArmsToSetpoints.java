@@ -4,98 +4,105 @@
 
 package frc.robot.commands.climber;
 
-import edu.wpi.first.math.controller.ProfiledPIDController;
-import edu.wpi.first.math.trajectory.TrapezoidProfile;
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.controller.PIDController;
+import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import static frc.robot.Constants.ClimberConstants.*;
 
 
 import frc.robot.subsystems.ClimbingSubsystem;
 import frc.robot.utils.ArmSpeeds;
+import frc.robot.utils.ArmTrajectory;
 
+/**
+ * Moves the arms along a coordinated {@link ArmTrajectory}, so extension and
+ * rotation arrive at the same time
+ */
 public class PIDArmsToSetpoints extends CommandBase {
-  private ProfiledPIDController leftRotator;
-  private ProfiledPIDController rightRotator;
-  private ProfiledPIDController leftExtender;
-  private ProfiledPIDController rightExtender;
-  private ArmSpeeds armSpeeds;
-  /** Creates a new PIDArmsToSetpoints. */
-  
+  private final ClimbingSubsystem climbingSubsystem;
+  private final PIDController leftRotator = new PIDController(ROTATOR_KP, ROTATOR_KI, ROTATOR_KD);
+  private final PIDController rightRotator = new PIDController(ROTATOR_KP, ROTATOR_KI, ROTATOR_KD);
+  private final PIDController leftExtender = new PIDController(EXTENDER_KP, EXTENDER_KI, EXTENDER_KD);
+  private final PIDController rightExtender = new PIDController(EXTENDER_KP, EXTENDER_KI, EXTENDER_KD);
+  private final ArmSpeeds armSpeeds;
+  private final ArmTrajectory trajectory;
+  private final Timer timer = new Timer();
+  private final double extension;
+  private final double rotation;
+
+  /**
+   * @param climbingSubsystem
+   * @param extension Target length (m)
+   * @param rotation Target angle (deg)
+   * @param armSpeeds Limits for each axis, 0 velocity leaves that axis neutral
+   */
   public PIDArmsToSetpoints(ClimbingSubsystem climbingSubsystem,  double extension, double rotation, ArmSpeeds armSpeeds) {
     // Use addRequirements() here to declare subsystem dependencies.
+    addRequirements(climbingSubsystem);
+    this.climbingSubsystem = climbingSubsystem;
     this.armSpeeds = armSpeeds;
-    rightRotator = new ProfiledPIDController(ROTATOR_KP, ROTATOR_KI, ROTATOR_KD, armSpeeds.getRotatorConstraints());
-    leftRotator = new ProfiledPIDController(ROTATOR_KP, ROTATOR_KI, ROTATOR_KD, armSpeeds.getRotatorConstraints());
- 
-    rightRotator.setGoal(rotation);
-    leftRotator.setGoal(rotation);
-    rightRotator.reset(new TrapezoidProfile.State());
-    leftRotator.reset(new TrapezoidProfile.State());
-    
-    
-    rightExtender = new ProfiledPIDController(EXTENDER_KP, EXTENDER_KI, EXTENDER_KD, armSpeeds.getExtenderConstraints());
-    leftExtender = new ProfiledPIDController(EXTENDER_KP, EXTENDER_KI, EXTENDER_KD, armSpeeds.getExtenderConstraints());
-    rightExtender.setGoal(extension);
-    leftExtender.setGoal(extension);
-    leftExtender.reset(new TrapezoidProfile.State());
-    rightExtender.reset(new TrapezoidProfile.State());
-
+    this.extension = extension;
+    this.rotation = rotation;
+    this.trajectory = new ArmTrajectory(armSpeeds);
   }
 
   // Called when the command is initially scheduled.
   @Override
-  public void initialize() {}
+  public void initialize() {
+    // Plan once from where the arms actually are, average both sides
+    trajectory.plan(
+        (climbingSubsystem.getLeftLength() + climbingSubsystem.getRightLength()) / 2,
+        (climbingSubsystem.getLeftAngle() + climbingSubsystem.getRightAngle()) / 2,
+        extension, rotation);
+    timer.reset();
+    timer.start();
+  }
 
   // Called every time the scheduler runs while the command is scheduled.
   @Override
   public void execute() {
-
+    trajectory.sample(timer.get());
 
     if(!armSpeeds.isExtenderNeutral()){
-      
-      //SmartDashboard.putNumber("leftExtender", leftExtender.calculate(climbingSubsystem.getLeftLength()));
-      //SmartDashboard.putNumber("leftExtenderLength",climbingSubsystem.getLeftLength());
-    
-
-      rightExtender.setConstraints(armSpeeds.getExtenderConstraints());
-      leftExtender.setConstraints(armSpeeds.getExtenderConstraints());
-
-      // SmartDashboard.putNumber("rightExtender", rightExtender.calculate(climbingSubsystem.getRightLength()));
-      // SmartDashboard.putNumber("rightLength", climbingSubsystem.getRightLength());
-      // SmartDashboard.putBoolean("at setPoint", rightExtender.atSetpoint());
-      // SmartDashboard.putBoolean("at goal", rightExtender.atGoal());
-      // SmartDashboard.putNumber("Goal", rightExtender.getGoal().position);
-      // SmartDashboard.putNumber("Setpoint", rightExtender.getSetpoint().position);
-
-      //SmartDashboard.putBoolean("Test", new TrapezoidProfile.Constraints(10, 10) == armSpeeds.getExtenderConstraints());
-      
-
-
-      //climbingSubsystem.setLeftExtensionVolts(MathUtil.clamp(leftExtender.calculate(climbingSubsystem.getLeftLength()), -MAX_RETRACTION_VOLTS, MAX_EXTENSION_VOLTS));
-      //climbingSubsystem.setRightExtensionVolts(MathUtil.clamp(rightExtender.calculate(climbingSubsystem.getRightLength()), MAX_EXTENSION_VOLTS, -MAX_RETRACTION_VOLTS));
+      double length = trajectory.getLength();
+      climbingSubsystem.setLeftExtensionVolts(MathUtil.clamp(
+          leftExtender.calculate(climbingSubsystem.getLeftLength(), length), -MAX_RETRACTION_VOLTS, MAX_EXTENSION_VOLTS));
+      climbingSubsystem.setRightExtensionVolts(MathUtil.clamp(
+          rightExtender.calculate(climbingSubsystem.getRightLength(), length), -MAX_RETRACTION_VOLTS, MAX_EXTENSION_VOLTS));
     }
 
     if(!armSpeeds.isRotatorNeutral()){
-      rightRotator.setConstraints(armSpeeds.getRotatorConstraints());
-      leftRotator.setConstraints(armSpeeds.getRotatorConstraints());
-      // SmartDashboard.putNumber("rightRotator", rightRotator.calculate(climbingSubsystem.getRightAngle()));
-      // SmartDashboard.putNumber("leftRotator", leftRotator.calculate(climbingSubsystem.getLeftAngle()));
-      
-      //climbingSubsystem.setLeftRotationVolts(MathUtil.clamp(MAX_ROTATOR_VOLTS, -MAX_ROTATOR_VOLTS, leftRotator.calculate(climbingSubsystem.getLeftAngle())));
-      //climbingSubsystem.setRightRotationVolts(MathUtil.clamp(MAX_ROTATOR_VOLTS, -MAX_ROTATOR_VOLTS, rightRotator.calculate(climbingSubsystem.getRightAngle())));
+      // Feedforward carries the arm weight along the profile, PID only corrects error
+      double angle = trajectory.getAngle();
+      double velocity = trajectory.getAngleVelocity();
+      climbingSubsystem.setLeftRotationVoltsFeedforward(leftRotator.calculate(climbingSubsystem.getLeftAngle(), angle), velocity);
+      climbingSubsystem.setRightRotationVoltsFeedforward(rightRotator.calculate(climbingSubsystem.getRightAngle(), angle), velocity);
     }
-
-    
   }
 
   // Called once the command ends or is interrupted.
   @Override
-  public void end(boolean interrupted) {}
+  public void end(boolean interrupted) {
+    climbingSubsystem.setExtensionVolts(0);
+    if(interrupted || armSpeeds.isRotatorNeutral()){
+      climbingSubsystem.setRotationVolts(0);
+    } else {
+      // Hold the angle we arrived at, brake mode plus the gravity feedforward
+      climbingSubsystem.setLeftRotationVoltsFeedforward(0, 0);
+      climbingSubsystem.setRightRotationVoltsFeedforward(0, 0);
+    }
+  }
 
   // Returns true when the command should end.
   @Override
   public boolean isFinished() {
-    return false;
-    //return (armSpeeds.isExtenderNeutral() || (leftRotator.atGoal() && rightRotator.atGoal())) && (armSpeeds.isRotatorNeutral() || (rightExtender.atGoal() && leftExtender.atGoal()));
+    return trajectory.isFinished(timer.get())
+        && (armSpeeds.isExtenderNeutral()
+            || (Math.abs(extension - climbingSubsystem.getLeftLength()) < EXTENDER_SETPOINT_THRESHOLD
+                && Math.abs(extension - climbingSubsystem.getRightLength()) < EXTENDER_SETPOINT_THRESHOLD))
+        && (armSpeeds.isRotatorNeutral()
+            || (Math.abs(rotation - climbingSubsystem.getLeftAngle()) < ROTATION_SETPOINT_THRESHOLD
+                && Math.abs(rotation - climbingSubsystem.getRightAngle()) < ROTATION_SETPOINT_THRESHOLD));
   }
 }
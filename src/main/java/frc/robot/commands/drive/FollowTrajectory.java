@@ -1,24 +1,53 @@
 package frc.robot.commands.drive;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import edu.wpi.first.math.controller.PIDController;
 import edu.wpi.first.math.controller.RamseteController;
 import edu.wpi.first.math.controller.SimpleMotorFeedforward;
 import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
 import edu.wpi.first.math.trajectory.Trajectory;
+import edu.wpi.first.math.trajectory.TrajectoryConfig;
 import edu.wpi.first.math.trajectory.TrajectoryUtil;
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.Filesystem;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.InstantCommand;
 import edu.wpi.first.wpilibj2.command.RamseteCommand;
+import edu.wpi.first.wpilibj2.command.RunCommand;
+import edu.wpi.first.wpilibj2.command.SelectCommand;
+import edu.wpi.first.wpilibj2.command.SequentialCommandGroup;
+import edu.wpi.first.wpilibj2.command.WaitUntilCommand;
 import frc.robot.Constants;
+import frc.robot.Constants.AutoConstants;
 import frc.robot.Constants.DriveConstants;
 import frc.robot.subsystems.DriveSubsystem;
+import frc.robot.utils.AutoStepLog;
+import frc.robot.utils.TrajectoryCache;
+import frc.robot.utils.TrajectoryConfigs;
+import frc.robot.utils.TrajectoryTransforms;
 
 public class FollowTrajectory extends RamseteCommand {
 
+    private static final String TRAJECTORY_EXTENSION = ".wpilib.json";
+    // Parsed paths by name, so autos that share a path only read it once
+    private static final Map<String, Trajectory> loadedTrajectories = new ConcurrentHashMap<>();
+    // Red side versions of loaded paths, rotated once
+    private static final Map<String, Trajectory> redTrajectories = new ConcurrentHashMap<>();
+
     private Trajectory trajectory;
+    private DriveSubsystem driveSubsystem;
+    private final Timer timer = new Timer();
 
     /**
      * Create a RamseteCommand to follow a given trajectory
@@ -40,17 +69,110 @@ public class FollowTrajectory extends RamseteCommand {
         addRequirements(driveSubsystem);
         new SimpleMotorFeedforward(DriveConstants.KS, DriveConstants.KV, DriveConstants.KA);    
         this.trajectory = trajectory;
+        this.driveSubsystem = driveSubsystem;
     }
 
     @Override
     public void initialize() {
         super.initialize();
+        timer.reset();
+        timer.start();
+    }
+
+    @Override
+    public void execute() {
+        super.execute();
+        AutoStepLog.getInstance().addTrackingError(trajectory.sample(timer.get()).poseMeters.getTranslation()
+                .getDistance(driveSubsystem.getPose().getTranslation()));
     }
 
     public static FollowTrajectory followTrajectoryFromJSON(DriveSubsystem driveSubsystem, String fileName, String folder) {
         return new FollowTrajectory(driveSubsystem, getTrajectoryFromJSON(folder, fileName));
     }
 
+    /**
+     * @param fileName Path drawn for the blue alliance
+     * @param red Follow it rotated to the red side of the field
+     */
+    public static FollowTrajectory followAllianceTrajectory(DriveSubsystem driveSubsystem, String fileName, boolean red) {
+        return new FollowTrajectory(driveSubsystem, getAllianceTrajectory(fileName, red));
+    }
+
+    /**
+     * @param pathWeeverFileName Path drawn for the blue alliance
+     * @param red Rotate it to the red side of the field
+     * @return Loaded path, the red version is only computed the first time
+     */
+    public static Trajectory getAllianceTrajectory(String pathWeeverFileName, boolean red) {
+        Trajectory blue = getTrajectoryFromJSON("", pathWeeverFileName);
+        if (!red) return blue;
+        return redTrajectories.computeIfAbsent(pathWeeverFileName, name -> TrajectoryTransforms.rotateToRed(blue));
+    }
+
+    /**
+     * Drive from where the robot is to the start of a path. The connector is
+     * generated on the {@link TrajectoryCache} thread while the robot holds
+     * still, and the path starts without it if it can't be made in time.
+     * @param from Robot pose, rounded so nearby starts share a connector
+     * @param to Start of the next path
+     */
+    public static Command followConnector(DriveSubsystem driveSubsystem, Pose2d from, Pose2d to) {
+        CompletableFuture<Trajectory> connector = requestConnectorTrajectory(from, to);
+        return new SequentialCommandGroup(
+                new WaitUntilCommand(connector::isDone).withTimeout(AutoConstants.CONNECTOR_WAIT_TIMEOUT)
+                        .deadlineWith(new RunCommand(driveSubsystem::disable, driveSubsystem)),
+                new SelectCommand(() -> {
+                    Trajectory trajectory = connector.getNow(null);
+                    if (trajectory == null) return new InstantCommand();
+                    return new FollowTrajectory(driveSubsystem, trajectory);
+                }));
+    }
+
+    /**
+     * Only joins poses a single spline can without looping: headings within
+     * {@link AutoConstants#CONNECTOR_MAX_ANGLE} of each other and of the way
+     * the robot drives between them, forwards or backwards
+     * @param from Robot pose, rounded so nearby starts share a connector
+     * @param to Start of the next path
+     * @return Completes with the path between them, or null if there isn't one
+     */
+    public static CompletableFuture<Trajectory> requestConnectorTrajectory(Pose2d from, Pose2d to) {
+        Pose2d start = new Pose2d(
+                round(from.getX(), AutoConstants.CONNECTOR_POSE_RESOLUTION),
+                round(from.getY(), AutoConstants.CONNECTOR_POSE_RESOLUTION),
+                Rotation2d.fromDegrees(round(from.getRotation().getDegrees(), AutoConstants.CONNECTOR_ANGLE_RESOLUTION)));
+        if (getAngle(start.getRotation(), to.getRotation()) > AutoConstants.CONNECTOR_MAX_ANGLE) {
+            DriverStation.reportWarning("No connector, the robot is turned too far from the path", false);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Translation2d offset = to.getTranslation().minus(start.getTranslation());
+        Rotation2d travel = new Rotation2d(offset.getX(), offset.getY());
+        boolean reversed = getAngle(start.getRotation(), travel) > 90;
+        // Backwards, the robot faces away from where it drives
+        Rotation2d facing = reversed ? travel.plus(Rotation2d.fromDegrees(180)) : travel;
+        if (getAngle(start.getRotation(), facing) > AutoConstants.CONNECTOR_MAX_ANGLE
+                || getAngle(to.getRotation(), facing) > AutoConstants.CONNECTOR_MAX_ANGLE) {
+            DriverStation.reportWarning("No connector, the path starts too far to the side of the robot", false);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        TrajectoryConfig config = TrajectoryConfigs.createConfig(AutoConstants.CONNECTOR_MAX_VELOCITY,
+                AutoConstants.CONNECTOR_MAX_ACCELERATION).setReversed(reversed);
+        return TrajectoryCache.getInstance().request(List.of(start, to), config);
+    }
+
+    /**
+     * @return Degrees between two headings, 0 to 180
+     */
+    private static double getAngle(Rotation2d a, Rotation2d b) {
+        return Math.abs(a.minus(b).getDegrees());
+    }
+
+    private static double round(double value, double resolution) {
+        return Math.round(value / resolution) * resolution;
+    }
+
     /**
      * For testing PID/Ramsete controller. Not for use in final robot
      * @param driveSubsystem
@@ -98,11 +220,43 @@ public class FollowTrajectory extends RamseteCommand {
      * @return
      */
     private static Trajectory getTrajectoryFromJSON(String prefix, String pathWeeverFileName) {
+        return loadedTrajectories.computeIfAbsent(pathWeeverFileName,
+                name -> getTrajectoryFromJSON(Filesystem.getDeployDirectory().toPath(), name));
+    }
+
+    /**
+     * Parse a path ahead of time, safe to call from any thread
+     * @param pathWeeverFileName Name of path, e.g. "1Ball"
+     */
+    public static void preloadTrajectory(String pathWeeverFileName) {
+        getTrajectoryFromJSON("", pathWeeverFileName);
+    }
+
+    /**
+     * @return Name of every path in the deploy directory
+     */
+    public static List<String> getTrajectoryNames() {
+        List<String> names = new ArrayList<>();
+        File[] files = Filesystem.getDeployDirectory().toPath().resolve("output").toFile().listFiles();
+        if (files == null) return names;
+        for (File file : files) {
+            if (file.getName().endsWith(TRAJECTORY_EXTENSION)) {
+                names.add(file.getName().substring(0, file.getName().length() - TRAJECTORY_EXTENSION.length()));
+            }
+        }
+        return names;
+    }
+
+    /**
+     * @param deployDirectory Directory holding output/
+     * @param pathWeeverFileName Name of path, e.g. "1Ball"
+     * @return Loaded trajectory, or an empty one if it couldn't be read
+     */
+    public static Trajectory getTrajectoryFromJSON(Path deployDirectory, String pathWeeverFileName) {
 
         Trajectory trajectory = new Trajectory();
         try {
-            Path trajectoryPath = Filesystem.getDeployDirectory().toPath()
-                    .resolve("output/" + pathWeeverFileName + ".wpilib.json");
+            Path trajectoryPath = deployDirectory.resolve("output/" + pathWeeverFileName + TRAJECTORY_EXTENSION);
             trajectory = TrajectoryUtil.fromPathweaverJson(trajectoryPath);
         } catch (IOException ex) {
             DriverStation.reportError("Unable to open trajectory: " + pathWeeverFileName, ex.getStackTrace());
@@ -114,4 +268,8 @@ public class FollowTrajectory extends RamseteCommand {
         return trajectory.getInitialPose();
     }
 
+    public Trajectory getTrajectory() {
+        return trajectory;
+    }
+
 }
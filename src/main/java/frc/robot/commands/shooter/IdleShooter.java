@@ -6,11 +6,13 @@ package frc.robot.commands.shooter;
 
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.robot.subsystems.ShooterSubsystem;
+import frc.robot.utils.BallInventory;
 import static frc.robot.Constants.ShooterConstants.*;
 
 public class IdleShooter extends CommandBase {
 
   private ShooterSubsystem shooterSubsystem;
+  private boolean spunUp;
 
   /** Creates a new IdleShooter. */
   public IdleShooter(ShooterSubsystem shooterSubsystem) {
@@ -23,14 +25,18 @@ public class IdleShooter extends CommandBase {
   // Called when the command is initially scheduled.
   @Override
   public void initialize() {
-    shooterSubsystem.setPowerWheelRPM(SHOOTER_PROFILE_HIGH.getPowerRPM());
-    shooterSubsystem.setAimWheelRPM(SHOOTER_PROFILE_HIGH.getAimRPM());
-
+    spunUp = false;
   }
 
   // Called every time the scheduler runs while the command is scheduled.
   @Override
   public void execute() {
+    // Nothing to shoot yet, wait for a ball before spinning up
+    if (!spunUp && !BallInventory.getInstance().isEmpty()) {
+      shooterSubsystem.setPowerWheelRPM(SHOOTER_PROFILE_HIGH.getPowerRPM());
+      shooterSubsystem.setAimWheelRPM(SHOOTER_PROFILE_HIGH.getAimRPM());
+      spunUp = true;
+    }
   }
 
   // Called once the command ends or is interrupted.
@@ -5,14 +5,11 @@
 package frc.robot.commands.shooter;
 
 import edu.wpi.first.wpilibj2.command.CommandBase;
-import edu.wpi.first.wpilibj2.command.CommandScheduler;
-import frc.robot.RobotContainer;
-import frc.robot.Constants.AutoConstants;
-import frc.robot.Constants.IntakeConstants;
 import frc.robot.Constants.ShooterConstants;
 import frc.robot.subsystems.IntakeSubsystem;
 import frc.robot.subsystems.LoaderSubsystem;
 import frc.robot.subsystems.ShooterSubsystem;
+import frc.robot.utils.BallInventory;
 import frc.robot.utils.Candle;
 import frc.robot.utils.ShooterProfiles;
 import frc.robot.utils.Candle.LEDState;
@@ -26,6 +23,7 @@ public class Shoot extends CommandBase {
   private IntakeSubsystem intakeSubsystem;
   private ShooterProfiles shooterProfiles;
   private boolean reject;
+  private final BallInventory inventory = BallInventory.getInstance();
 
   /**
    * Revs the flywheels, and when they are at setpoint, it will feed the balls and
@@ -66,32 +64,14 @@ public class Shoot extends CommandBase {
   // Called every time the scheduler runs while the command is scheduled.
   @Override
   public void execute() {
-    // If so, surround color sensor calls in try/catch loop
-    // Check ball color and team color chosen
-    if (
-     // intakeSubsystem.isBallLow() && 
-      reject
-      // If ball is blue and we are red
-      && ((BLUE.colorMatch(IntakeSubsystem.getColorSensorRaw()) && RobotContainer.getTeamColor()) 
-      // If ball is red and we are blue
-      || (RED.colorMatch(IntakeSubsystem.getColorSensorRaw()) && !RobotContainer.getTeamColor()))) { 
-        // Reject current ball
-        // If behavior is unexpected, try updating flywheel setpoints for a set
-        // timer, then reverting back to previous setpoints.
-        // Make sure to revert to old setpoints when command ends/ is cancelled.
-        this.cancel();
-        Candle.getInstance().changeLedState(LEDState.ReverseIntake);
-        CommandScheduler.getInstance().schedule(
-          new ShootTimed(intakeSubsystem, loaderSubsystem, shooterSubsystem, ShooterConstants.SHOOTER_PROFILE_REJECT, AutoConstants.SHOOT_TIME_1B));
-    }
-
-
-    shooterSubsystem.setPowerWheelRPM(shooterProfiles.getPowerRPM());
-    shooterSubsystem.setAimWheelRPM(shooterProfiles.getAimRPM());
+    // An opponent ball on top goes out at reject speed, the rest at the profile's
+    ShooterProfiles profile = reject && isOpponentBallNext() ? ShooterConstants.SHOOTER_PROFILE_REJECT : shooterProfiles;
+    shooterSubsystem.setPowerWheelRPM(profile.getPowerRPM());
+    shooterSubsystem.setAimWheelRPM(profile.getAimRPM());
 
     if (shooterSubsystem.isAtSetpoint()) {
-      loaderSubsystem.runLoader(MAX_LOADER_SPEED);
-      intakeSubsystem.runIndexerLow(IntakeConstants.MAX_INDEXER_PERCENT);
+      loaderSubsystem.runLoaderVelocity(FEED_PROFILE_SHOOT.getLoaderSpeed());
+      intakeSubsystem.runIndexerVelocity(FEED_PROFILE_SHOOT.getIndexerSpeed());
     } 
     else{
       loaderSubsystem.runLoader(0);
@@ -99,6 +79,10 @@ public class Shoot extends CommandBase {
     }
   }
 
+  private boolean isOpponentBallNext() {
+    return inventory.getBallCount() > 0 && inventory.getBall(0).isOpponent();
+  }
+
   // Called once the command ends or is interrupted.
   @Override
   public void end(boolean interrupted) {
@@ -1,8 +1,6 @@
 package frc.robot.commands.shooter;
 
-import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj2.command.CommandBase;
-import frc.robot.Constants.IntakeConstants;
 import frc.robot.Constants.LoaderConstants;
 import frc.robot.Constants.ShooterConstants;
 import frc.robot.subsystems.IntakeSubsystem;
@@ -10,10 +8,11 @@ import frc.robot.subsystems.LoaderSubsystem;
 import frc.robot.subsystems.ShooterSubsystem;
 import frc.robot.utils.Candle;
 import frc.robot.utils.ShooterProfiles;
+import frc.robot.utils.Stopwatch;
 import frc.robot.utils.Candle.LEDState;
 
 public class ShootTimed extends CommandBase {
-    Timer timer;
+    final Stopwatch timer = new Stopwatch();
     IntakeSubsystem intakeSubsystem;
     LoaderSubsystem loaderSubsystem;
     ShooterSubsystem shooterSubsystem;
@@ -21,7 +20,6 @@ public class ShootTimed extends CommandBase {
 
     public ShootTimed(IntakeSubsystem intakeSubsystem, LoaderSubsystem loaderSubsystem,
             ShooterSubsystem shooterSubsystem, ShooterProfiles shooterProfile, double seconds) {
-                timer = new Timer();
                 this.intakeSubsystem = intakeSubsystem;
                 this.shooterSubsystem = shooterSubsystem;
                 this.loaderSubsystem = loaderSubsystem;
@@ -34,7 +32,7 @@ public class ShootTimed extends CommandBase {
         Candle.getInstance().changeLedState(LEDState.Fire);
 
 
-    timer.start();    
+        timer.restart();
 
     }
 
@@ -45,9 +43,9 @@ public class ShootTimed extends CommandBase {
         shooterSubsystem.setAimWheelRPM(ShooterConstants.SHOOTER_PROFILE_REJECT.getAimRPM());
         shooterSubsystem.setPowerWheelRPM(ShooterConstants.SHOOTER_PROFILE_REJECT.getPowerRPM());
 
-        loaderSubsystem.runLoader(LoaderConstants.MAX_LOADER_SPEED);
+        loaderSubsystem.runLoaderVelocity(LoaderConstants.FEED_PROFILE_SHOOT.getLoaderSpeed());
 
-        intakeSubsystem.runIndexerLow(IntakeConstants.MAX_INDEXER_PERCENT);
+        intakeSubsystem.runIndexerVelocity(LoaderConstants.FEED_PROFILE_SHOOT.getIndexerSpeed());
     }
 
     @Override
@@ -67,7 +65,7 @@ public class ShootTimed extends CommandBase {
     @Override 
     public boolean isFinished(){
 
-        return timer.get() >= seconds;
+        return timer.hasElapsed(seconds);
     }
 
 
@@ -0,0 +1,133 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems;
+
+import frc.robot.utils.InputsTable;
+import frc.robot.utils.LoggableInputs;
+
+/**
+ * Extenders, rotators, through bore encoders and limit switches. Replay uses
+ * these empty defaults, the inputs come from the log instead.
+ */
+public interface ClimberIO {
+
+    public static class ClimberIOInputs implements LoggableInputs {
+        public double leftExtenderClicks = 0;
+        public double rightExtenderClicks = 0;
+        public double leftExtenderCurrent = 0;
+        public double rightExtenderCurrent = 0;
+        public double leftExtenderAppliedVolts = 0;
+        public double rightExtenderAppliedVolts = 0;
+
+        public double leftRotatorClicksPer100ms = 0;
+        public double rightRotatorClicksPer100ms = 0;
+        public double leftRotatorCurrent = 0;
+        public double rightRotatorCurrent = 0;
+        public double leftRotatorAppliedVolts = 0;
+        public double rightRotatorAppliedVolts = 0;
+
+        // Through bore encoders, rotations
+        public double leftEncoder = 0;
+        public double rightEncoder = 0;
+        public double leftEncoderOffset = 0;
+        public double rightEncoderOffset = 0;
+
+        // Raw switch values, true while not pressed
+        public boolean leftFrontLimit = true;
+        public boolean rightFrontLimit = true;
+        public boolean leftBackLimit = true;
+        public boolean rightBackLimit = true;
+
+        @Override
+        public void toLog(InputsTable table) {
+            table.put("LeftExtenderClicks", leftExtenderClicks);
+            table.put("RightExtenderClicks", rightExtenderClicks);
+            table.put("LeftExtenderCurrent", leftExtenderCurrent);
+            table.put("RightExtenderCurrent", rightExtenderCurrent);
+            table.put("LeftExtenderAppliedVolts", leftExtenderAppliedVolts);
+            table.put("RightExtenderAppliedVolts", rightExtenderAppliedVolts);
+            table.put("LeftRotatorVelocity", leftRotatorClicksPer100ms);
+            table.put("RightRotatorVelocity", rightRotatorClicksPer100ms);
+            table.put("LeftRotatorCurrent", leftRotatorCurrent);
+            table.put("RightRotatorCurrent", rightRotatorCurrent);
+            table.put("LeftRotatorAppliedVolts", leftRotatorAppliedVolts);
+            table.put("RightRotatorAppliedVolts", rightRotatorAppliedVolts);
+            table.put("LeftEncoder", leftEncoder);
+            table.put("RightEncoder", rightEncoder);
+            table.put("LeftEncoderOffset", leftEncoderOffset);
+            table.put("RightEncoderOffset", rightEncoderOffset);
+            table.put("LeftFrontLimit", leftFrontLimit);
+            table.put("RightFrontLimit", rightFrontLimit);
+            table.put("LeftBackLimit", leftBackLimit);
+            table.put("RightBackLimit", rightBackLimit);
+        }
+
+        @Override
+        public void fromLog(InputsTable table) {
+            leftExtenderClicks = table.get("LeftExtenderClicks", leftExtenderClicks);
+            rightExtenderClicks = table.get("RightExtenderClicks", rightExtenderClicks);
+            leftExtenderCurrent = table.get("LeftExtenderCurrent", leftExtenderCurrent);
+            rightExtenderCurrent = table.get("RightExtenderCurrent", rightExtenderCurrent);
+            leftExtenderAppliedVolts = table.get("LeftExtenderAppliedVolts", leftExtenderAppliedVolts);
+            rightExtenderAppliedVolts = table.get("RightExtenderAppliedVolts", rightExtenderAppliedVolts);
+            leftRotatorClicksPer100ms = table.get("LeftRotatorVelocity", leftRotatorClicksPer100ms);
+            rightRotatorClicksPer100ms = table.get("RightRotatorVelocity", rightRotatorClicksPer100ms);
+            leftRotatorCurrent = table.get("LeftRotatorCurrent", leftRotatorCurrent);
+            rightRotatorCurrent = table.get("RightRotatorCurrent", rightRotatorCurrent);
+            leftRotatorAppliedVolts = table.get("LeftRotatorAppliedVolts", leftRotatorAppliedVolts);
+            rightRotatorAppliedVolts = table.get("RightRotatorAppliedVolts", rightRotatorAppliedVolts);
+            leftEncoder = table.get("LeftEncoder", leftEncoder);
+            rightEncoder = table.get("RightEncoder", rightEncoder);
+            leftEncoderOffset = table.get("LeftEncoderOffset", leftEncoderOffset);
+            rightEncoderOffset = table.get("RightEncoderOffset", rightEncoderOffset);
+            leftFrontLimit = table.get("LeftFrontLimit", leftFrontLimit);
+            rightFrontLimit = table.get("RightFrontLimit", rightFrontLimit);
+            leftBackLimit = table.get("LeftBackLimit", leftBackLimit);
+            rightBackLimit = table.get("RightBackLimit", rightBackLimit);
+        }
+    }
+
+    /**
+     * Read every sensor, once per loop
+     */
+    public default void updateInputs(ClimberIOInputs inputs) {}
+
+    public default void setLeftExtenderVolts(double volts) {}
+
+    public default void setRightExtenderVolts(double volts) {}
+
+    public default void setLeftRotatorVolts(double volts) {}
+
+    public default void setRightRotatorVolts(double volts) {}
+
+    /**
+     * @param brake Brake when neutral, otherwise coast
+     */
+    public default void setLeftRotatorBrake(boolean brake) {}
+
+    /**
+     * @param brake Brake when neutral, otherwise coast
+     */
+    public default void setRightRotatorBrake(boolean brake) {}
+
+    public default void setExtenderPercent(double left, double right) {}
+
+    public default void setRotatorPercent(double left, double right) {}
+
+    /**
+     * Zero the extender motor encoders
+     */
+    public default void resetExtenders() {}
+
+    /**
+     * Zero the through bore encoders
+     */
+    public default void resetRotators() {}
+
+    /**
+     * Clear sticky faults and put every motor back in brake mode
+     */
+    public default void clearStickyFaults() {}
+}
@@ -0,0 +1,153 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems;
+
+import com.ctre.phoenix.motorcontrol.NeutralMode;
+import com.ctre.phoenix.motorcontrol.can.WPI_TalonFX;
+
+import edu.wpi.first.wpilibj.DigitalInput;
+import edu.wpi.first.wpilibj.DutyCycleEncoder;
+import frc.robot.utils.TalonConfig;
+
+import static frc.robot.Constants.*;
+import static frc.robot.Constants.ClimberConstants.*;
+
+public class ClimberIOReal implements ClimberIO {
+
+    // Motors
+    protected WPI_TalonFX extenderLeftMotor = new WPI_TalonFX(EXTENDER_LEFT_PORT, CANIVORE_NAME);
+    protected WPI_TalonFX extenderRightMotor = new WPI_TalonFX(EXTENDER_RIGHT_PORT, CANIVORE_NAME);
+    protected WPI_TalonFX rotatorLeftMotor = new WPI_TalonFX(ROTATOR_LEFT_PORT, CANIVORE_NAME);
+    protected WPI_TalonFX rotatorRightMotor = new WPI_TalonFX(ROTATOR_RIGHT_PORT, CANIVORE_NAME);
+
+    // Limit Switches
+    protected DigitalInput rotatorLeftFrontLimit = new DigitalInput(ROTATOR_LEFT_FRONT_LIMIT_PORT);
+    protected DigitalInput rotatorRightFrontLimit = new DigitalInput(ROTATOR_RIGHT_FRONT_LIMIT_PORT);
+    protected DigitalInput rotatorRightBackLimit = new DigitalInput(ROTATOR_LEFT_BACK_LIMIT_PORT);
+    protected DigitalInput rotatorLeftBackLimit = new DigitalInput(ROTATOR_RIGHT_BACK_LIMIT_PORT);
+
+    //Through bore encoders
+    private DutyCycleEncoder leftEncoder = new DutyCycleEncoder(LEFT_ENCODER_PORT);
+    private DutyCycleEncoder rightEncoder = new DutyCycleEncoder(RIGHT_ENCODER_PORT);
+
+    public ClimberIOReal() {
+        extenderLeftMotor.setInverted(EXTENDER_LEFT_INVERTED);
+        extenderRightMotor.setInverted(EXTENDER_RIGHT_INVERTED);
+        TalonConfig brake = new TalonConfig().neutralMode(NeutralMode.Brake);
+        brake.apply(extenderLeftMotor);
+        brake.apply(extenderRightMotor);
+        brake.apply(rotatorLeftMotor);
+        brake.apply(rotatorRightMotor);
+        rotatorLeftMotor.setInverted(ROTATOR_LEFT_INVERTED);
+        rotatorRightMotor.setInverted(ROTATOR_RIGHT_INVERTED);
+
+        // rotatorLeftMotor.configStatorCurrentLimit(
+        //     new StatorCurrentLimitConfiguration(true, 231, 231, .001)
+        // );
+        // rotatorRightMotor.configStatorCurrentLimit(
+        //     new StatorCurrentLimitConfiguration(false, 231, 231, .001)
+        // );
+        // rotatorLeftMotor.configSupplyCurrentLimit(
+        //     new SupplyCurrentLimitConfiguration(true, 40, 40, .001)
+        // );
+        // rotatorRightMotor.configSupplyCurrentLimit(
+        //     new SupplyCurrentLimitConfiguration(false, 40, 40, .001)
+        // );
+    }
+
+    @Override
+    public void updateInputs(ClimberIOInputs inputs) {
+        inputs.leftExtenderClicks = extenderLeftMotor.getSelectedSensorPosition();
+        inputs.rightExtenderClicks = extenderRightMotor.getSelectedSensorPosition();
+        inputs.leftExtenderCurrent = extenderLeftMotor.getStatorCurrent();
+        inputs.rightExtenderCurrent = extenderRightMotor.getStatorCurrent();
+        inputs.leftExtenderAppliedVolts = extenderLeftMotor.getMotorOutputVoltage();
+        inputs.rightExtenderAppliedVolts = extenderRightMotor.getMotorOutputVoltage();
+
+        inputs.leftRotatorClicksPer100ms = rotatorLeftMotor.getSelectedSensorVelocity();
+        inputs.rightRotatorClicksPer100ms = rotatorRightMotor.getSelectedSensorVelocity();
+        inputs.leftRotatorCurrent = rotatorLeftMotor.getStatorCurrent();
+        inputs.rightRotatorCurrent = rotatorRightMotor.getStatorCurrent();
+        inputs.leftRotatorAppliedVolts = rotatorLeftMotor.getMotorOutputVoltage();
+        inputs.rightRotatorAppliedVolts = rotatorRightMotor.getMotorOutputVoltage();
+
+        inputs.leftEncoder = leftEncoder.get();
+        inputs.rightEncoder = rightEncoder.get();
+        inputs.leftEncoderOffset = leftEncoder.getPositionOffset();
+        inputs.rightEncoderOffset = rightEncoder.getPositionOffset();
+
+        inputs.leftFrontLimit = rotatorLeftFrontLimit.get();
+        inputs.rightFrontLimit = rotatorRightFrontLimit.get();
+        inputs.leftBackLimit = rotatorLeftBackLimit.get();
+        inputs.rightBackLimit = rotatorRightBackLimit.get();
+    }
+
+    @Override
+    public void setLeftExtenderVolts(double volts) {
+        extenderLeftMotor.setVoltage(volts);
+    }
+
+    @Override
+    public void setRightExtenderVolts(double volts) {
+        extenderRightMotor.setVoltage(volts);
+    }
+
+    @Override
+    public void setLeftRotatorVolts(double volts) {
+        rotatorLeftMotor.setVoltage(volts);
+    }
+
+    @Override
+    public void setRightRotatorVolts(double volts) {
+        rotatorRightMotor.setVoltage(volts);
+    }
+
+    @Override
+    public void setLeftRotatorBrake(boolean brake) {
+        rotatorLeftMotor.setNeutralMode(brake ? NeutralMode.Brake : NeutralMode.Coast);
+    }
+
+    @Override
+    public void setRightRotatorBrake(boolean brake) {
+        rotatorRightMotor.setNeutralMode(brake ? NeutralMode.Brake : NeutralMode.Coast);
+    }
+
+    @Override
+    public void setExtenderPercent(double left, double right) {
+        extenderRightMotor.set(right);
+        extenderLeftMotor.set(left);
+    }
+
+    @Override
+    public void setRotatorPercent(double left, double right) {
+        rotatorLeftMotor.set(left);
+        rotatorRightMotor.set(right);
+    }
+
+    @Override
+    public void resetExtenders() {
+        extenderLeftMotor.setSelectedSensorPosition(0);
+        extenderRightMotor.setSelectedSensorPosition(0);
+    }
+
+    @Override
+    public void resetRotators() {
+        leftEncoder.reset();
+        rightEncoder.reset();
+    }
+
+    @Override
+    public void clearStickyFaults() {
+        extenderRightMotor.clearStickyFaults();
+        extenderLeftMotor.clearStickyFaults();
+        rotatorLeftMotor.clearStickyFaults();
+        rotatorRightMotor.clearStickyFaults();
+
+        extenderRightMotor.setNeutralMode(NeutralMode.Brake);
+        extenderLeftMotor.setNeutralMode(NeutralMode.Brake);
+        rotatorLeftMotor.setNeutralMode(NeutralMode.Brake);
+        rotatorRightMotor.setNeutralMode(NeutralMode.Brake);
+    }
+}
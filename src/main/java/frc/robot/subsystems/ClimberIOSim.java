@@ -0,0 +1,39 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems;
+
+import com.ctre.phoenix.motorcontrol.TalonFXSimCollection;
+
+import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj.simulation.DIOSim;
+
+/**
+ * Real climber code with no arm physics. The limit switches are held released
+ * so the rotators aren't blocked, and the Talons get a bus voltage so applied
+ * volts show up.
+ */
+public class ClimberIOSim extends ClimberIOReal {
+    private TalonFXSimCollection[] motorSims = {
+        extenderLeftMotor.getSimCollection(),
+        extenderRightMotor.getSimCollection(),
+        rotatorLeftMotor.getSimCollection(),
+        rotatorRightMotor.getSimCollection()
+    };
+
+    public ClimberIOSim() {
+        new DIOSim(rotatorLeftFrontLimit).setValue(true);
+        new DIOSim(rotatorRightFrontLimit).setValue(true);
+        new DIOSim(rotatorLeftBackLimit).setValue(true);
+        new DIOSim(rotatorRightBackLimit).setValue(true);
+    }
+
+    @Override
+    public void updateInputs(ClimberIOInputs inputs) {
+        for (TalonFXSimCollection motorSim : motorSims) {
+            motorSim.setBusVoltage(RobotController.getBatteryVoltage());
+        }
+        super.updateInputs(inputs);
+    }
+}
@@ -1,16 +1,17 @@
 package frc.robot.subsystems;
 
-import com.ctre.phoenix.motorcontrol.NeutralMode;
-import com.ctre.phoenix.motorcontrol.can.WPI_TalonFX;
 import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.controller.ArmFeedforward;
 import edu.wpi.first.math.controller.PIDController;
 import edu.wpi.first.math.filter.Debouncer;
-import edu.wpi.first.wpilibj.DigitalInput;
-import edu.wpi.first.wpilibj.DutyCycleEncoder;
 import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj.shuffleboard.ShuffleboardTab;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import frc.robot.subsystems.ClimberIO.ClimberIOInputs;
+import frc.robot.utils.InputsTable;
 import frc.robot.utils.Logging;
+import frc.robot.utils.LoopProfiler;
+import frc.robot.utils.TelemetryLog;
 
 import static frc.robot.Constants.*;
 
@@ -18,27 +19,20 @@ import static frc.robot.Constants.ClimberConstants.*;
 
 public class ClimbingSubsystem extends SubsystemBase {
 
-    // Motors
-    private WPI_TalonFX extenderLeftMotor = new WPI_TalonFX(EXTENDER_LEFT_PORT, CANIVORE_NAME);
-    private WPI_TalonFX extenderRightMotor = new WPI_TalonFX(EXTENDER_RIGHT_PORT, CANIVORE_NAME);
-    private WPI_TalonFX rotatorLeftMotor = new WPI_TalonFX(ROTATOR_LEFT_PORT, CANIVORE_NAME);
-    private WPI_TalonFX rotatorRightMotor = new WPI_TalonFX(ROTATOR_RIGHT_PORT, CANIVORE_NAME);
+    private final ClimberIO io;
+    private final ClimberIOInputs inputs = new ClimberIOInputs();
+    private final InputsTable inputsTable;
     public static ShuffleboardTab tab = Shuffleboard.getTab("ClimberSubsystem");
 
-    // Limit Switches
-    private DigitalInput rotatorLeftFrontLimit = new DigitalInput(ROTATOR_LEFT_FRONT_LIMIT_PORT);
-    private DigitalInput rotatorRightFrontLimit = new DigitalInput(ROTATOR_RIGHT_FRONT_LIMIT_PORT);
-    private DigitalInput rotatorRightBackLimit = new DigitalInput(ROTATOR_LEFT_BACK_LIMIT_PORT);
-    private DigitalInput rotatorLeftBackLimit = new DigitalInput(ROTATOR_RIGHT_BACK_LIMIT_PORT);
-
     private Debouncer debouncerFrontLeft = new Debouncer(LIMIT_SWITCH_DEBOUNCE_SECONDS, Debouncer.DebounceType.kBoth);
     private Debouncer debouncerBackLeft = new Debouncer(LIMIT_SWITCH_DEBOUNCE_SECONDS, Debouncer.DebounceType.kBoth);
     private Debouncer debouncerFrontRight = new Debouncer(LIMIT_SWITCH_DEBOUNCE_SECONDS, Debouncer.DebounceType.kBoth);
     private Debouncer debounceBackRight = new Debouncer(LIMIT_SWITCH_DEBOUNCE_SECONDS, Debouncer.DebounceType.kBoth);
-    
-    //Through bore encoders
-    private DutyCycleEncoder leftEncoder = new DutyCycleEncoder(LEFT_ENCODER_PORT);
-    private DutyCycleEncoder rightEncoder = new DutyCycleEncoder(RIGHT_ENCODER_PORT);
+    // Debounced once per loop, the switches are wired normally closed
+    private boolean leftFrontAtLimit = false;
+    private boolean rightFrontAtLimit = false;
+    private boolean leftBackAtLimit = false;
+    private boolean rightBackAtLimit = false;
 
     private PIDController leftRotateBrake;
     private PIDController rightRotateBrake;
@@ -46,42 +40,52 @@ public class ClimbingSubsystem extends SubsystemBase {
     private boolean leftTrueBrake = true;
     private boolean rightTrueBrake = true;
 
-    public ClimbingSubsystem() {
+    // Gravity compensation, the arms need far more to hold the robot's weight
+    private ArmFeedforward unloadedFeedforward = new ArmFeedforward(ROTATOR_KS, ROTATOR_KG_UNLOADED, ROTATOR_KV);
+    private ArmFeedforward loadedFeedforward = new ArmFeedforward(ROTATOR_KS, ROTATOR_KG_LOADED, ROTATOR_KV);
+    private Debouncer loadedDebouncer = new Debouncer(LOADED_DEBOUNCE_SECONDS, Debouncer.DebounceType.kBoth);
+    private boolean loaded = false;
+
+    // Binary telemetry channels
+    private TelemetryLog telemetry;
+    private int leftAngleChannel, rightAngleChannel, leftLengthChannel, rightLengthChannel,
+        leftRotatorVoltsChannel, rightRotatorVoltsChannel, loadedChannel;
+
+    // Loop timing
+    private LoopProfiler profiler = LoopProfiler.getInstance();
+    private int periodicSection = profiler.addSection("Climber periodic");
+
+    /**
+     * @param io Real, sim, or replay hardware
+     */
+    public ClimbingSubsystem(ClimberIO io) {
+        this(io, true);
+    }
+
+    /**
+     * @param io Real, sim, or replay hardware
+     * @param publish False for a copy that only runs code, it registers no
+     *                dashboards or telemetry (see {@link frc.robot.WarmUp})
+     */
+    public ClimbingSubsystem(ClimberIO io, boolean publish) {
+        inputsTable = new InputsTable("Climber", !publish);
+        this.io = io;
 
         leftRotateBrake = new PIDController(BRAKE_KP, 0, 0);
         leftRotateBrake.setTolerance(BRAKE_TOLERANCE);
         rightRotateBrake = new PIDController(BRAKE_KP, 0, 0);
         rightRotateBrake.setTolerance(BRAKE_TOLERANCE);
-        
-        extenderLeftMotor.setInverted(EXTENDER_LEFT_INVERTED);
-        extenderRightMotor.setInverted(EXTENDER_RIGHT_INVERTED);
-        extenderLeftMotor.setNeutralMode(NeutralMode.Brake);
-        extenderRightMotor.setNeutralMode(NeutralMode.Brake);
-        rotatorLeftMotor.setNeutralMode(NeutralMode.Brake);
-        rotatorRightMotor.setNeutralMode(NeutralMode.Brake);
-        rotatorLeftMotor.setInverted(ROTATOR_LEFT_INVERTED);
-        rotatorRightMotor.setInverted(ROTATOR_RIGHT_INVERTED);
-
-        // rotatorLeftMotor.configStatorCurrentLimit(
-        //     new StatorCurrentLimitConfiguration(true, 231, 231, .001)
-        // );
-        // rotatorRightMotor.configStatorCurrentLimit(
-        //     new StatorCurrentLimitConfiguration(false, 231, 231, .001)
-        // );
-        // rotatorLeftMotor.configSupplyCurrentLimit(
-        //     new SupplyCurrentLimitConfiguration(true, 40, 40, .001)
-        // );
-        // rotatorRightMotor.configSupplyCurrentLimit(
-        //     new SupplyCurrentLimitConfiguration(false, 40, 40, .001)
-        // );
 
         clearStickies();
         
         reset(true);
-        if(Logging.climb) {
+        if(Logging.climb && publish) {
             log();
             
         }
+        if(Logging.binary && publish) {
+            registerTelemetry();
+        }
         //tab.add(this);
         //tab.add("leftBrakePID", leftRotateBrake);
         //tab.add("rightbrakepid", rightRotateBrake);
@@ -89,6 +93,46 @@ public class ClimbingSubsystem extends SubsystemBase {
 
     @Override
     public void periodic() {
+        long start = profiler.start();
+        io.updateInputs(inputs);
+        inputsTable.process(inputs);
+        // Robot is hanging once the extenders are carrying its weight
+        loaded = loadedDebouncer.calculate(
+            Math.max(inputs.leftExtenderCurrent, inputs.rightExtenderCurrent) > EXTENDER_LOADED_CURRENT);
+        updateLimits();
+
+        if(Logging.binary) {
+            logTelemetry();
+        }
+        if(Logging.timing) profiler.record(periodicSection, start);
+    }
+
+    private void updateLimits() {
+        leftFrontAtLimit = !debouncerFrontLeft.calculate(inputs.leftFrontLimit);
+        rightFrontAtLimit = !debouncerFrontRight.calculate(inputs.rightFrontLimit);
+        leftBackAtLimit = !debouncerBackLeft.calculate(inputs.leftBackLimit);
+        rightBackAtLimit = !debounceBackRight.calculate(inputs.rightBackLimit);
+    }
+
+    private void registerTelemetry() {
+        telemetry = TelemetryLog.getInstance();
+        leftAngleChannel = telemetry.addChannel("Climber/Left Angle");
+        rightAngleChannel = telemetry.addChannel("Climber/Right Angle");
+        leftLengthChannel = telemetry.addChannel("Climber/Left Length");
+        rightLengthChannel = telemetry.addChannel("Climber/Right Length");
+        leftRotatorVoltsChannel = telemetry.addChannel("Climber/Left Rotator Volts");
+        rightRotatorVoltsChannel = telemetry.addChannel("Climber/Right Rotator Volts");
+        loadedChannel = telemetry.addChannel("Climber/Loaded");
+    }
+
+    private void logTelemetry() {
+        telemetry.log(leftAngleChannel, getLeftAngle());
+        telemetry.log(rightAngleChannel, getRightAngle());
+        telemetry.log(leftLengthChannel, getLeftLength());
+        telemetry.log(rightLengthChannel, getRightLength());
+        telemetry.log(leftRotatorVoltsChannel, inputs.leftRotatorAppliedVolts);
+        telemetry.log(rightRotatorVoltsChannel, inputs.rightRotatorAppliedVolts);
+        telemetry.log(loadedChannel, loaded);
     }
 
     public void log() {
@@ -105,13 +149,23 @@ public class ClimbingSubsystem extends SubsystemBase {
         //tab.addBoolean("Arms stalling?", () -> false);
         tab.add(this);
 
-        tab.addNumber("Left RPM", () -> rotatorLeftMotor.getSelectedSensorVelocity() * 10 / 60);
-        tab.addNumber("Right RPM", () -> rotatorRightMotor.getSelectedSensorVelocity() * 10 / 60);
-        tab.addNumber("Left stator Current", () -> rotatorLeftMotor.getStatorCurrent() * ROTATIONS_PER_CLICK * 10 * 60);
-        tab.addNumber("Right stator Current", () -> rotatorRightMotor.getStatorCurrent() * ROTATIONS_PER_CLICK * 10 * 60);
+        tab.addNumber("Left RPM", () -> inputs.leftRotatorClicksPer100ms * 10 / 60);
+        tab.addNumber("Right RPM", () -> inputs.rightRotatorClicksPer100ms * 10 / 60);
+        tab.addNumber("Left stator Current", () -> inputs.leftRotatorCurrent * ROTATIONS_PER_CLICK * 10 * 60);
+        tab.addNumber("Right stator Current", () -> inputs.rightRotatorCurrent * ROTATIONS_PER_CLICK * 10 * 60);
+
+        // Feedforward fitting data
+        tab.addNumber("Left rotator volts", () -> inputs.leftRotatorAppliedVolts);
+        tab.addNumber("Right rotator volts", () -> inputs.rightRotatorAppliedVolts);
+        tab.addNumber("Left angular velocity", () -> getLeftAngularVelocity());
+        tab.addNumber("Right angular velocity", () -> getRightAngularVelocity());
+        tab.addBoolean("Arms loaded", () -> isLoaded());
     }
     public boolean areMotorsStalling(){
-        return isMotorStalling(extenderLeftMotor) || isMotorStalling(extenderRightMotor) || isMotorStalling(rotatorLeftMotor) || isMotorStalling(rotatorRightMotor);
+        return isMotorStalling(inputs.leftExtenderAppliedVolts, inputs.leftExtenderCurrent)
+            || isMotorStalling(inputs.rightExtenderAppliedVolts, inputs.rightExtenderCurrent)
+            || isMotorStalling(inputs.leftRotatorAppliedVolts, inputs.leftRotatorCurrent)
+            || isMotorStalling(inputs.rightRotatorAppliedVolts, inputs.rightRotatorCurrent);
     }
     
 
@@ -122,11 +176,9 @@ public class ClimbingSubsystem extends SubsystemBase {
      * Resets rotation/extension to 0
      */
     public void reset(boolean resetAngle) {
-        extenderLeftMotor.setSelectedSensorPosition(0);
-        extenderRightMotor.setSelectedSensorPosition(0);
+        io.resetExtenders();
         if(resetAngle) {
-            leftEncoder.reset();
-            rightEncoder.reset();
+            io.resetRotators();
         }
     }
     
@@ -154,10 +206,10 @@ public class ClimbingSubsystem extends SubsystemBase {
     public void setLeftRotationVolts(double volts) {
         if(!leftTrueBrake) {
             leftTrueBrake = true;
-            rotatorLeftMotor.setNeutralMode(NeutralMode.Brake);
+            io.setLeftRotatorBrake(true);
         }
         volts = MathUtil.clamp(volts, -MAX_ROTATOR_VOLTS, MAX_ROTATOR_VOLTS);
-        rotatorLeftMotor.setVoltage(checkBoundsRotations(volts, getLeftAngle(), isLeftFrontAtLimit(), isLeftBackAtLimit()));
+        applyLeftRotatorVolts(checkBoundsRotations(volts, getLeftAngle(), isLeftFrontAtLimit(), isLeftBackAtLimit()));
     }
 
     /**
@@ -165,16 +217,18 @@ public class ClimbingSubsystem extends SubsystemBase {
      * @param brakemode motors in brakemode, will try to stall motors in opposite direction if in brakemode
      */
     public void setLeftRotationVolts(double volts, boolean brakemode) {
-        volts = MathUtil.clamp(volts, -MAX_ROTATOR_VOLTS, MAX_ROTATOR_VOLTS);
         if(brakemode) {
             if(leftTrueBrake) {
                 leftTrueBrake = false;
-                rotatorLeftMotor.setNeutralMode(NeutralMode.Coast);
+                io.setLeftRotatorBrake(false);
             }
-            volts += MathUtil.clamp(leftRotateBrake.calculate(rotatorLeftMotor.getSelectedSensorVelocity(), 0), -3, 3);
+            volts += MathUtil.clamp(leftRotateBrake.calculate(inputs.leftRotatorClicksPer100ms, 0), -3, 3)
+                + calculateRotatorFeedforward(getLeftAngle(), 0);
             // SmartDashboard.putNumber("Left brake output", volts);
         }
-        rotatorLeftMotor.setVoltage(checkBoundsRotations(volts, getLeftAngle(), isLeftFrontAtLimit(), isLeftBackAtLimit()));
+        // Clamp the total, the brake and feedforward must not push past the limit
+        volts = MathUtil.clamp(volts, -MAX_ROTATOR_VOLTS, MAX_ROTATOR_VOLTS);
+        applyLeftRotatorVolts(checkBoundsRotations(volts, getLeftAngle(), isLeftFrontAtLimit(), isLeftBackAtLimit()));
     }
 
     /**
@@ -182,17 +236,18 @@ public class ClimbingSubsystem extends SubsystemBase {
      * @param brakemode motors in brakemode, will try to stall motors in opposite direction if in brakemode
      */
     public void setRightRotationVolts(double volts, boolean brakemode) {
-        volts = MathUtil.clamp(volts, -MAX_ROTATOR_VOLTS, MAX_ROTATOR_VOLTS);
         if(brakemode) {
             if(rightTrueBrake) {
                 rightTrueBrake = false;
-                rotatorRightMotor.setNeutralMode(NeutralMode.Coast);
+                io.setRightRotatorBrake(false);
             }
-            volts += MathUtil.clamp(rightRotateBrake.calculate(rotatorRightMotor.getSelectedSensorVelocity(), 0), -3, 3);
+            volts += MathUtil.clamp(rightRotateBrake.calculate(inputs.rightRotatorClicksPer100ms, 0), -3, 3)
+                + calculateRotatorFeedforward(getRightAngle(), 0);
             // SmartDashboard.putNumber("Right brake output", volts);
-            // SmartDashboard.putNumber("Right vel", rotatorRightMotor.getSelectedSensorVelocity());
+            // SmartDashboard.putNumber("Right vel", inputs.rightRotatorClicksPer100ms);
         }
-        rotatorRightMotor.setVoltage(checkBoundsRotations(volts, getRightAngle(), isRightFrontAtLimit(), isRightBackAtLimit()));
+        volts = MathUtil.clamp(volts, -MAX_ROTATOR_VOLTS, MAX_ROTATOR_VOLTS);
+        applyRightRotatorVolts(checkBoundsRotations(volts, getRightAngle(), isRightFrontAtLimit(), isRightBackAtLimit()));
         
 
     }
@@ -203,10 +258,10 @@ public class ClimbingSubsystem extends SubsystemBase {
     public void setRightRotationVolts(double volts) {
         if(!rightTrueBrake) {
             rightTrueBrake = true;
-            rotatorRightMotor.setNeutralMode(NeutralMode.Brake);
+            io.setRightRotatorBrake(true);
         }
         volts = MathUtil.clamp(volts, -MAX_ROTATOR_VOLTS, MAX_ROTATOR_VOLTS);
-        rotatorRightMotor.setVoltage(checkBoundsRotations(volts, getRightAngle(), isRightFrontAtLimit(), isRightBackAtLimit()));
+        applyRightRotatorVolts(checkBoundsRotations(volts, getRightAngle(), isRightFrontAtLimit(), isRightBackAtLimit()));
 
     }
 
@@ -215,7 +270,7 @@ public class ClimbingSubsystem extends SubsystemBase {
      */
     public void setRightExtensionVolts(double volts) {
         volts = MathUtil.clamp(volts, -MAX_EXTENDER_VOLTS, MAX_EXTENDER_VOLTS);
-        extenderRightMotor.setVoltage(checkBoundsExtensions(volts, getRightLength()));
+        applyRightExtenderVolts(checkBoundsExtensions(volts, getRightLength()));
     }
 
     /** 
@@ -223,18 +278,58 @@ public class ClimbingSubsystem extends SubsystemBase {
      */
     public void setLeftExtensionVolts(double volts) {
         volts = MathUtil.clamp(volts, -MAX_EXTENDER_VOLTS, MAX_EXTENDER_VOLTS);
-        extenderLeftMotor.setVoltage(checkBoundsExtensions(volts, getLeftLength()));
+        applyLeftExtenderVolts(checkBoundsExtensions(volts, getLeftLength()));
+    }
+
+    /**
+     * Drives the left rotator with gravity compensation added on top
+     * @param volts Input voltage (will be clamped)
+     * @param velocity Desired velocity (deg/s), used for the feedforward
+     */
+    public void setLeftRotationVoltsFeedforward(double volts, double velocity) {
+        setLeftRotationVolts(volts + calculateRotatorFeedforward(getLeftAngle(), velocity));
+    }
+
+    /**
+     * Drives the right rotator with gravity compensation added on top
+     * @param volts Input voltage (will be clamped)
+     * @param velocity Desired velocity (deg/s), used for the feedforward
+     */
+    public void setRightRotationVoltsFeedforward(double volts, double velocity) {
+        setRightRotationVolts(volts + calculateRotatorFeedforward(getRightAngle(), velocity));
     }
 
     public void setTestExtenderPercent(double left, double right){
-        extenderRightMotor.set(right);
-        extenderLeftMotor.set(left);
+        inputsTable.putOutput("LeftExtenderPercent", left);
+        inputsTable.putOutput("RightExtenderPercent", right);
+        io.setExtenderPercent(left, right);
     }
 
     public void setTestRotatorPercent(double left, double right) {
-        rotatorLeftMotor.set(left);
-        rotatorRightMotor.set(right);
+        inputsTable.putOutput("LeftRotatorPercent", left);
+        inputsTable.putOutput("RightRotatorPercent", right);
+        io.setRotatorPercent(left, right);
+    }
+    private void applyLeftRotatorVolts(double volts) {
+        inputsTable.putOutput("LeftRotatorVolts", volts);
+        io.setLeftRotatorVolts(volts);
     }
+
+    private void applyLeftExtenderVolts(double volts) {
+        inputsTable.putOutput("LeftExtenderVolts", volts);
+        io.setLeftExtenderVolts(volts);
+    }
+
+    private void applyRightRotatorVolts(double volts) {
+        inputsTable.putOutput("RightRotatorVolts", volts);
+        io.setRightRotatorVolts(volts);
+    }
+
+    private void applyRightExtenderVolts(double volts) {
+        inputsTable.putOutput("RightExtenderVolts", volts);
+        io.setRightExtenderVolts(volts);
+    }
+
     /**
      * Checks if the extender is at max positions, and which direction is is trying
      * to move
@@ -280,62 +375,87 @@ public class ClimbingSubsystem extends SubsystemBase {
 
     public double getRightRotateVelocity() {
         
-        return rotatorRightMotor.getSelectedSensorVelocity() * DriveConstants.CLICKS_PER_ROT;
+        return inputs.rightRotatorClicksPer100ms * DriveConstants.CLICKS_PER_ROT;
     }
 
     public double getLeftRotateVelocity() {
-        return rotatorLeftMotor.getSelectedSensorVelocity() * DriveConstants.CLICKS_PER_ROT;
+        return inputs.leftRotatorClicksPer100ms * DriveConstants.CLICKS_PER_ROT;
+    }
+
+    /**
+     * Feedforward voltage to hold or move a rotator. Uses the loaded gains while the
+     * robot is hanging from the arms.
+     * @param angle Arm angle (deg)
+     * @param velocity Desired velocity (deg/s)
+     * @return Volts, 0 until the gains have been fit
+     */
+    public double calculateRotatorFeedforward(double angle, double velocity) {
+        if (!ROTATOR_FEEDFORWARD_FITTED) return 0;
+        return (loaded ? loadedFeedforward : unloadedFeedforward).calculate(
+            Math.toRadians(angle + ROTATOR_HORIZONTAL_OFFSET_DEG), Math.toRadians(velocity));
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * @return Left arm velocity (deg/s) from the rotator motor
+     */
+    public double getLeftAngularVelocity() {
+        return GET_DEGREES_FROM_CLICKS(inputs.leftRotatorClicksPer100ms) * 10;
+    }
+
+    /**
+     * @return Right arm velocity (deg/s) from the rotator motor
+     */
+    public double getRightAngularVelocity() {
+        return GET_DEGREES_FROM_CLICKS(inputs.rightRotatorClicksPer100ms) * 10;
     }
 
     public double getRightLength() {
-        return extenderRightMotor.getSelectedSensorPosition() * LENGTH_PER_CLICK;
+        return inputs.rightExtenderClicks * LENGTH_PER_CLICK;
     }
 
     public double getLeftLength() {
-        return extenderLeftMotor.getSelectedSensorPosition() * LENGTH_PER_CLICK;
+        return inputs.leftExtenderClicks * LENGTH_PER_CLICK;
     }
 
     public double getRightAngle() {
-        return Math.IEEEremainder(rightEncoder.get() * 360, 180);
+        return Math.IEEEremainder(inputs.rightEncoder * 360, 180);
     }
 
     public double getLeftAngle() {
         // return 7;
-        return Math.IEEEremainder(-leftEncoder.get() * 360, 180);
+        return Math.IEEEremainder(-inputs.leftEncoder * 360, 180);
     }
     public double getRightAngleOffset() {
-        return rightEncoder.getPositionOffset() * 360;
+        return inputs.rightEncoderOffset * 360;
 
     }
 
     public double getLeftAngleOffset() {
-        return -leftEncoder.getPositionOffset() * 360;
+        return -inputs.leftEncoderOffset * 360;
     }
 
     public boolean isLeftFrontAtLimit() {
-        return !debouncerFrontLeft.calculate(rotatorLeftFrontLimit.get());
+        return leftFrontAtLimit;
     }
 
     public boolean isRightFrontAtLimit() {
-        return !debouncerFrontRight.calculate(rotatorRightFrontLimit.get());
+        return rightFrontAtLimit;
     }
     public boolean isRightBackAtLimit() {
-        return !debounceBackRight.calculate(rotatorRightBackLimit.get());
+        return rightBackAtLimit;
     }
     public boolean isLeftBackAtLimit() {
-        return !debouncerBackLeft.calculate(rotatorLeftBackLimit.get());
+        return leftBackAtLimit;
     }
 
     public void clearStickies() {
-        extenderRightMotor.clearStickyFaults();
-        extenderLeftMotor.clearStickyFaults();
-        rotatorLeftMotor.clearStickyFaults();
-        rotatorRightMotor.clearStickyFaults();
-
-        extenderRightMotor.setNeutralMode(NeutralMode.Brake);
-        extenderLeftMotor.setNeutralMode(NeutralMode.Brake);
-        rotatorLeftMotor.setNeutralMode(NeutralMode.Brake);
-        rotatorRightMotor.setNeutralMode(NeutralMode.Brake);
+        io.clearStickyFaults();
+        leftTrueBrake = true;
+        rightTrueBrake = true;
     }
 
     public void disable() {
@@ -0,0 +1,62 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems;
+
+import frc.robot.utils.InputsTable;
+import frc.robot.utils.LoggableInputs;
+
+/**
+ * Drivetrain hardware. Replay uses these empty defaults, the inputs come from
+ * the log instead.
+ */
+public interface DriveIO {
+
+  public static class DriveIOInputs implements LoggableInputs {
+    // Positive forward on both sides
+    public double leftPositionMeters = 0;
+    public double rightPositionMeters = 0;
+    public double leftVelocityMetersPerSec = 0;
+    public double rightVelocityMetersPerSec = 0;
+    public double leftAppliedVolts = 0;
+    public double rightAppliedVolts = 0;
+    // Clockwise positive, straight from the navX
+    public double gyroAngleDeg = 0;
+
+    @Override
+    public void toLog(InputsTable table) {
+      table.put("LeftPosition", leftPositionMeters);
+      table.put("RightPosition", rightPositionMeters);
+      table.put("LeftVelocity", leftVelocityMetersPerSec);
+      table.put("RightVelocity", rightVelocityMetersPerSec);
+      table.put("LeftAppliedVolts", leftAppliedVolts);
+      table.put("RightAppliedVolts", rightAppliedVolts);
+      table.put("GyroAngle", gyroAngleDeg);
+    }
+
+    @Override
+    public void fromLog(InputsTable table) {
+      leftPositionMeters = table.get("LeftPosition", leftPositionMeters);
+      rightPositionMeters = table.get("RightPosition", rightPositionMeters);
+      leftVelocityMetersPerSec = table.get("LeftVelocity", leftVelocityMetersPerSec);
+      rightVelocityMetersPerSec = table.get("RightVelocity", rightVelocityMetersPerSec);
+      leftAppliedVolts = table.get("LeftAppliedVolts", leftAppliedVolts);
+      rightAppliedVolts = table.get("RightAppliedVolts", rightAppliedVolts);
+      gyroAngleDeg = table.get("GyroAngle", gyroAngleDeg);
+    }
+  }
+
+  /**
+   * Read every sensor, once per loop
+   */
+  public default void updateInputs(DriveIOInputs inputs) {}
+
+  /**
+   * @param fwd Forward, -1 to 1
+   * @param rot Rotation, -1 to 1
+   */
+  public default void arcadeDrive(double fwd, double rot) {}
+
+  public default void tankDriveVolts(double leftVolts, double rightVolts) {}
+}
@@ -0,0 +1,89 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems;
+
+import com.ctre.phoenix.motorcontrol.can.WPI_TalonFX;
+import com.kauailabs.navx.frc.AHRS;
+
+import edu.wpi.first.wpilibj.drive.DifferentialDrive;
+import edu.wpi.first.wpilibj.motorcontrol.MotorController;
+import edu.wpi.first.wpilibj.motorcontrol.MotorControllerGroup;
+import frc.robot.Constants;
+import frc.robot.utils.TalonConfig;
+
+import static frc.robot.Constants.DriveConstants.*;
+
+/**
+ * Six Falcon drivetrain and navX
+ */
+public class DriveIOReal implements DriveIO {
+  // Motors
+  protected WPI_TalonFX leftMotorTop;
+  protected WPI_TalonFX rightMotorTop;
+  private WPI_TalonFX leftMotorFront;
+  private WPI_TalonFX rightMotorBack;
+  private WPI_TalonFX leftMotorBack;
+  private WPI_TalonFX rightMotorFront;
+  private MotorControllerGroup leftMotorControllerGroup;
+  private MotorControllerGroup rightMotorControllerGroup;
+  private DifferentialDrive drive;
+
+  // Gyro
+  private AHRS gyro;
+
+  public DriveIOReal() {
+    leftMotorTop = new WPI_TalonFX(LEFT_MOTOR_TOP_PORT, Constants.CANIVORE_NAME);
+    rightMotorTop = new WPI_TalonFX(RIGHT_MOTOR_TOP_PORT, Constants.CANIVORE_NAME);
+    leftMotorFront = new WPI_TalonFX(LEFT_MOTOR_FRONT_PORT, Constants.CANIVORE_NAME);
+    rightMotorFront = new WPI_TalonFX(RIGHT_MOTOR_FRONT_PORT, Constants.CANIVORE_NAME);
+    leftMotorBack = new WPI_TalonFX(LEFT_MOTOR_BACK_PORT, Constants.CANIVORE_NAME);
+    rightMotorBack = new WPI_TalonFX(RIGHT_MOTOR_BACK_PORT, Constants.CANIVORE_NAME);
+
+    // Only the top motors' encoders are read
+    TalonConfig leader = new TalonConfig().clearStickyFaults();
+    TalonConfig follower = new TalonConfig().slowStatusFrames().clearStickyFaults();
+
+    leftMotorControllerGroup = new MotorControllerGroup(new MotorController[] { leader.apply(leftMotorTop),
+        follower.apply(leftMotorFront), follower.apply(leftMotorBack) });
+
+    rightMotorControllerGroup = new MotorControllerGroup(new MotorController[] { leader.apply(rightMotorTop),
+        follower.apply(rightMotorFront), follower.apply(rightMotorBack) });
+
+    drive = new DifferentialDrive(rightMotorControllerGroup, leftMotorControllerGroup);
+
+    gyro = new AHRS();
+
+    rightMotorControllerGroup.setInverted(RIGHT_INVERTED);
+    leftMotorControllerGroup.setInverted(LEFT_INVERTED);
+    drive.setMaxOutput(MAX_DRIVE_OUTPUT_PERCENT);
+    drive.arcadeDrive(0, 0);
+
+    gyro.reset();
+  }
+
+  @Override
+  public void updateInputs(DriveIOInputs inputs) {
+    inputs.leftPositionMeters = (LEFT_INVERTED ? -1 : 1) * leftMotorTop.getSelectedSensorPosition(0) * CLICKS_TO_METERS;
+    inputs.rightPositionMeters = (RIGHT_INVERTED ? -1 : 1) * rightMotorTop.getSelectedSensorPosition(0) * CLICKS_TO_METERS;
+    // Convert from clicks per 100ms to meters per 100ms then to per sec
+    inputs.leftVelocityMetersPerSec = (LEFT_INVERTED ? -1 : 1) * leftMotorTop.getSelectedSensorVelocity() * CLICKS_TO_METERS * 10;
+    inputs.rightVelocityMetersPerSec = (RIGHT_INVERTED ? -1 : 1) * rightMotorTop.getSelectedSensorVelocity() * CLICKS_TO_METERS * 10;
+    inputs.leftAppliedVolts = (LEFT_INVERTED ? -1 : 1) * leftMotorTop.getMotorOutputVoltage();
+    inputs.rightAppliedVolts = (RIGHT_INVERTED ? -1 : 1) * rightMotorTop.getMotorOutputVoltage();
+    inputs.gyroAngleDeg = gyro.getAngle();
+  }
+
+  @Override
+  public void arcadeDrive(double fwd, double rot) {
+    drive.arcadeDrive(fwd, rot);
+  }
+
+  @Override
+  public void tankDriveVolts(double leftVolts, double rightVolts) {
+    leftMotorControllerGroup.setVoltage(leftVolts);
+    rightMotorControllerGroup.setVoltage(rightVolts);
+    drive.feed();
+  }
+}
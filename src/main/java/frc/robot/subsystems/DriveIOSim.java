@@ -0,0 +1,72 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems;
+
+import com.ctre.phoenix.motorcontrol.TalonFXSimCollection;
+
+import edu.wpi.first.hal.SimDouble;
+import edu.wpi.first.math.system.plant.DCMotor;
+import edu.wpi.first.math.system.plant.LinearSystemId;
+import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj.simulation.DifferentialDrivetrainSim;
+import edu.wpi.first.wpilibj.simulation.SimDeviceSim;
+
+import static frc.robot.Constants.DriveConstants.*;
+
+/**
+ * Real drivetrain code driving a physics model through the Talon and navX sim
+ * devices
+ */
+public class DriveIOSim extends DriveIOReal {
+  private DifferentialDrivetrainSim driveSim;
+  private TalonFXSimCollection leftSim;
+  private TalonFXSimCollection rightSim;
+  private SimDouble gyroYawSim;
+
+  public DriveIOSim() {
+    driveSim = new DifferentialDrivetrainSim(
+        LinearSystemId.identifyDrivetrainSystem(KV, KA, KV_ANGULAR, KA_ANGULAR),
+        DCMotor.getFalcon500(3),
+        1 / WHEEL_ROT_PER_MOTOR_ROT,
+        TRACK_WIDTH_METERS,
+        WHEEL_DIAMETER_METERS / 2,
+        null);
+    leftSim = leftMotorTop.getSimCollection();
+    rightSim = rightMotorTop.getSimCollection();
+    gyroYawSim = new SimDeviceSim("navX-Sensor[0]").getDouble("Yaw");
+  }
+
+  @Override
+  public void updateInputs(DriveIOInputs inputs) {
+    // Only the top motor on each side is read back, the others just mirror it
+    leftSim.setBusVoltage(RobotController.getBatteryVoltage());
+    rightSim.setBusVoltage(RobotController.getBatteryVoltage());
+    driveSim.setInputs(
+        withoutStaticFriction((LEFT_INVERTED ? -1 : 1) * leftSim.getMotorOutputLeadVoltage()),
+        withoutStaticFriction((RIGHT_INVERTED ? -1 : 1) * rightSim.getMotorOutputLeadVoltage()));
+    driveSim.update(0.02);
+
+    leftSim.setIntegratedSensorRawPosition(
+        (int) ((LEFT_INVERTED ? -1 : 1) * driveSim.getLeftPositionMeters() / CLICKS_TO_METERS));
+    leftSim.setIntegratedSensorVelocity(
+        (int) ((LEFT_INVERTED ? -1 : 1) * driveSim.getLeftVelocityMetersPerSecond() / CLICKS_TO_METERS / 10));
+    rightSim.setIntegratedSensorRawPosition(
+        (int) ((RIGHT_INVERTED ? -1 : 1) * driveSim.getRightPositionMeters() / CLICKS_TO_METERS));
+    rightSim.setIntegratedSensorVelocity(
+        (int) ((RIGHT_INVERTED ? -1 : 1) * driveSim.getRightVelocityMetersPerSecond() / CLICKS_TO_METERS / 10));
+
+    // navX yaw is clockwise positive
+    gyroYawSim.set(-driveSim.getHeading().getDegrees());
+
+    super.updateInputs(inputs);
+  }
+
+  /**
+   * The plant model has no KS term, so take it off the input instead
+   */
+  private static double withoutStaticFriction(double volts) {
+    return Math.copySign(Math.max(0, Math.abs(volts) - KS), volts);
+  }
+}
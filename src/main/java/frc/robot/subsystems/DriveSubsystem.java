@@ -6,9 +6,6 @@ package frc.robot.subsystems;
 import edu.wpi.first.math.controller.PIDController;
 import edu.wpi.first.math.controller.SimpleMotorFeedforward;
 import edu.wpi.first.math.filter.SlewRateLimiter;
-import edu.wpi.first.wpilibj.drive.DifferentialDrive;
-import edu.wpi.first.wpilibj.motorcontrol.MotorController;
-import edu.wpi.first.wpilibj.motorcontrol.MotorControllerGroup;
 import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj.shuffleboard.ShuffleboardTab;
 import edu.wpi.first.math.geometry.Pose2d;
@@ -18,17 +15,15 @@ import edu.wpi.first.math.kinematics.DifferentialDriveWheelSpeeds;
 import edu.wpi.first.wpilibj.smartdashboard.Field2d;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
-import frc.robot.Constants;
-import frc.robot.utils.Candle;
+import frc.robot.subsystems.DriveIO.DriveIOInputs;
+import frc.robot.utils.InputsTable;
 import frc.robot.utils.Logging;
+import frc.robot.utils.LoopProfiler;
+import frc.robot.utils.TelemetryLog;
 import frc.robot.utils.Targeting;
 
 import static frc.robot.Constants.DriveConstants.*;
 
-import com.ctre.phoenix.motorcontrol.StatusFrame;
-import com.ctre.phoenix.motorcontrol.can.WPI_TalonFX;
-import com.kauailabs.navx.frc.AHRS;
-
 import java.util.function.DoubleSupplier;
 
 /** Add your docs here. */
@@ -36,15 +31,15 @@ public class DriveSubsystem extends SubsystemBase {
   // Put methods for controlling this subsystem
   // here. Call these from Commands.
 
-  // Motors
-  private WPI_TalonFX leftMotorTop;
-  private WPI_TalonFX rightMotorTop;
-  private WPI_TalonFX leftMotorFront;
-  private WPI_TalonFX rightMotorBack;
-  private WPI_TalonFX leftMotorBack;
-  private WPI_TalonFX rightMotorFront;
-  private MotorControllerGroup leftMotorControllerGroup;
-  private MotorControllerGroup rightMotorControllerGroup;
+  // Hardware
+  private final DriveIO io;
+  private final DriveIOInputs inputs = new DriveIOInputs();
+  private final InputsTable inputsTable;
+
+  // Sensor zeros, kept here so resets replay the same as on the robot
+  private double leftPositionOffset = 0;
+  private double rightPositionOffset = 0;
+  private double gyroOffset = 0;
 
   // Controllers
   private PIDController leftPID;
@@ -53,54 +48,90 @@ public class DriveSubsystem extends SubsystemBase {
 
   // Pose & differential drive
   private Pose2d pose;
-  private DifferentialDrive drive;
   private DifferentialDriveOdometry driveOdometry;
   private SlewRateLimiter decelFilter = new SlewRateLimiter(DECELERATION_SLEW_RATE_LIMITER);
   private SlewRateLimiter accelFilter = new SlewRateLimiter(ACCELERATION_SLEW_RATE_LIMITER);
   private double previousPercentage = 0;
 
-  // Gyro
-  private AHRS gyro;
-
   // log
   public static ShuffleboardTab tab = Shuffleboard.getTab("DriveSubsystem");
   Field2d field2d = new Field2d();
 
+  // Binary telemetry channels
+  private TelemetryLog telemetry;
+  private int xChannel, yChannel, headingChannel, leftSpeedChannel, rightSpeedChannel;
 
 
-  public DriveSubsystem() {
-    constructorHelper();
-    // Zero sensors
-    resetOdometry(new Pose2d());
-    //leftMotorTop.configFactoryDefault();
-    //rightMotorTop.configFactoryDefault();
 
+  // Loop timing
+  private LoopProfiler profiler = LoopProfiler.getInstance();
+  private int periodicSection = profiler.addSection("Drive periodic");
 
-    Candle.getInstance().setRobotSpeed(() -> getWheelSpeeds().leftMetersPerSecond, () -> getWheelSpeeds().rightMetersPerSecond);;
-    
-
-    rightMotorControllerGroup.setInverted(RIGHT_INVERTED);
-    leftMotorControllerGroup.setInverted(LEFT_INVERTED);
-    drive.setMaxOutput(MAX_DRIVE_OUTPUT_PERCENT);
-    drive.arcadeDrive(0, 0);
+  /**
+   * @param io Real, sim, or replay hardware
+   */
+  public DriveSubsystem(DriveIO io) {
+    this(io, true);
+  }
 
-    gyro.reset();
+  /**
+   * @param io Real, sim, or replay hardware
+   * @param publish False for a copy that only runs code, it registers no
+   *                dashboards or telemetry (see {@link frc.robot.WarmUp})
+   */
+  public DriveSubsystem(DriveIO io, boolean publish) {
+    inputsTable = new InputsTable("Drive", !publish);
+    this.io = io;
+    constructorHelper();
+    io.updateInputs(inputs);
+    // Zero sensors
+    resetOdometry(new Pose2d());
     
-    if(Logging.drive) {
+    if(Logging.drive && publish) {
       logData();
     }
-    
-
+    if(Logging.binary && publish) {
+      registerTelemetry();
+    }
   }
 
   @Override
   public void periodic() {
+    long start = profiler.start();
+    io.updateInputs(inputs);
+    inputsTable.process(inputs);
     //field2d.setRobotPose(pose);
     if(Logging.general) {
       SmartDashboard.putNumber("xoffset", Targeting.getTargetXOffset());
       SmartDashboard.putBoolean("Has Ball", Targeting.hasTarget());
       SmartDashboard.putBoolean("Is connected", Targeting.isConnected());
     }
+    if(Logging.binary) {
+      logTelemetry();
+    }
+    if(Logging.timing) profiler.record(periodicSection, start);
+  }
+
+  @Override
+  public void simulationPeriodic() {
+    field2d.setRobotPose(pose);
+  }
+
+  private void registerTelemetry() {
+    telemetry = TelemetryLog.getInstance();
+    xChannel = telemetry.addChannel("Drive/X");
+    yChannel = telemetry.addChannel("Drive/Y");
+    headingChannel = telemetry.addChannel("Drive/Heading");
+    leftSpeedChannel = telemetry.addChannel("Drive/Left Speed");
+    rightSpeedChannel = telemetry.addChannel("Drive/Right Speed");
+  }
+
+  private void logTelemetry() {
+    telemetry.log(xChannel, pose.getX());
+    telemetry.log(yChannel, pose.getY());
+    telemetry.log(headingChannel, pose.getRotation().getDegrees());
+    telemetry.log(leftSpeedChannel, getVelocityLeft());
+    telemetry.log(rightSpeedChannel, getVelocityRight());
   }
 
   public void updatePose() {
@@ -125,14 +156,17 @@ public class DriveSubsystem extends SubsystemBase {
       slewOutput = decelFilter.calculate(currentPercentage);
       accelFilter.calculate(currentPercentage);
     }
-    drive.arcadeDrive(slewOutput, rot.getAsDouble());
+    double rotation = rot.getAsDouble();
+    inputsTable.putOutput("ArcadeForward", slewOutput);
+    inputsTable.putOutput("ArcadeRotation", rotation);
+    io.arcadeDrive(slewOutput, rotation);
     previousPercentage = Math.abs(currentPercentage);
   }
 
   public void tankDriveVolts(double leftVolts, double rightVolts) {
-    leftMotorControllerGroup.setVoltage(leftVolts);
-    rightMotorControllerGroup.setVoltage(rightVolts);
-    drive.feed();
+    inputsTable.putOutput("LeftVolts", leftVolts);
+    inputsTable.putOutput("RightVolts", rightVolts);
+    io.tankDriveVolts(leftVolts, rightVolts);
   }
 
   public void logData() {
@@ -140,8 +174,8 @@ public class DriveSubsystem extends SubsystemBase {
    // tab.addNumber("angle", () -> pose.getRotation().getDegrees());
    // tab.addNumber("heading", () -> getHeading().getDegrees());
     //tab.add(this);
-    tab.add(leftMotorTop);
-    tab.add(rightMotorTop);
+    tab.addNumber("Left Volts", () -> inputs.leftAppliedVolts);
+    tab.addNumber("Right Volts", () -> inputs.rightAppliedVolts);
     tab.add(field2d);
     tab.add(leftPID);
     tab.add(rightPID);
@@ -154,34 +188,24 @@ public class DriveSubsystem extends SubsystemBase {
 
   // --- Getters ---
 
-  private static double getEncoderDistance(WPI_TalonFX targetMotor) {
-    // Converts clicks to distance in meters
-    return targetMotor.getSelectedSensorPosition(0) * CLICKS_TO_METERS;
-  }
-
-  private static double getEncoderVelocity(WPI_TalonFX targetMotor) {
-    // Convert from clicks per 100ms to meters per 100ms then to per sec
-    return targetMotor.getSelectedSensorVelocity() * CLICKS_TO_METERS * 10;
-  }
-
   public Rotation2d getHeading() {
-    return Rotation2d.fromDegrees(-Math.IEEEremainder(gyro.getAngle(), 360));
+    return Rotation2d.fromDegrees(-Math.IEEEremainder(inputs.gyroAngleDeg - gyroOffset, 360));
   }
 
   public double getDistanceRight() {
-    return (RIGHT_INVERTED ? -1 : 1) * getEncoderDistance(rightMotorTop);
+    return inputs.rightPositionMeters - rightPositionOffset;
   }
 
   public double getDistanceLeft() {
-    return (LEFT_INVERTED ? -1 : 1) * getEncoderDistance(leftMotorTop);
+    return inputs.leftPositionMeters - leftPositionOffset;
   }
 
   public double getVelocityRight() {
-    return (RIGHT_INVERTED ? -1 : 1) * getEncoderVelocity(rightMotorTop);
+    return inputs.rightVelocityMetersPerSec;
   }
 
   public double getVelocityLeft() {
-    return (LEFT_INVERTED ? -1 : 1) * getEncoderVelocity(leftMotorTop);
+    return inputs.leftVelocityMetersPerSec;
   }
 
   public DifferentialDriveWheelSpeeds getWheelSpeeds() {
@@ -214,8 +238,8 @@ public class DriveSubsystem extends SubsystemBase {
   }
 
   private void resetEncoders() {
-    leftMotorTop.setSelectedSensorPosition(0);
-    rightMotorTop.setSelectedSensorPosition(0);
+    leftPositionOffset = inputs.leftPositionMeters;
+    rightPositionOffset = inputs.rightPositionMeters;
   }
 
   /**
@@ -225,7 +249,7 @@ public class DriveSubsystem extends SubsystemBase {
    */
   public void resetOdometry(Pose2d startingPose) {
     resetEncoders();
-    gyro.reset();
+    gyroOffset = inputs.gyroAngleDeg;
     driveOdometry.resetPosition(startingPose, getHeading());
   }
 
@@ -235,21 +259,6 @@ public class DriveSubsystem extends SubsystemBase {
    * Moves all the ugly instantiation out of the way.
    */
   private void constructorHelper() {
-    leftMotorTop = new WPI_TalonFX(LEFT_MOTOR_TOP_PORT, Constants.CANIVORE_NAME);
-    rightMotorTop = new WPI_TalonFX(RIGHT_MOTOR_TOP_PORT, Constants.CANIVORE_NAME);
-    leftMotorFront = new WPI_TalonFX(LEFT_MOTOR_FRONT_PORT, Constants.CANIVORE_NAME);
-    rightMotorFront = new WPI_TalonFX(RIGHT_MOTOR_FRONT_PORT, Constants.CANIVORE_NAME);
-    leftMotorBack = new WPI_TalonFX(LEFT_MOTOR_BACK_PORT, Constants.CANIVORE_NAME);
-    rightMotorBack = new WPI_TalonFX(RIGHT_MOTOR_BACK_PORT, Constants.CANIVORE_NAME);
-
-    leftMotorControllerGroup = new MotorControllerGroup(new MotorController[] { leftMotorTop,
-        updateGeneralStatusFrame(leftMotorFront), updateGeneralStatusFrame(leftMotorBack) });
-
-    rightMotorControllerGroup = new MotorControllerGroup(new MotorController[] { rightMotorTop,
-        updateGeneralStatusFrame(rightMotorFront), updateGeneralStatusFrame(rightMotorBack)});
-
-    drive = new DifferentialDrive(rightMotorControllerGroup, leftMotorControllerGroup);
-
     leftPID = new PIDController(LEFT_KP, 0, 0);
     rightPID = new PIDController(RIGHT_KP, 0, 0);
 
@@ -258,30 +267,11 @@ public class DriveSubsystem extends SubsystemBase {
     pose = new Pose2d();
 
     driveOdometry = new DifferentialDriveOdometry(new Rotation2d(), pose);
-
-    gyro = new AHRS();
-
-    leftMotorTop.clearStickyFaults();
-    rightMotorTop.clearStickyFaults();
-    leftMotorFront.clearStickyFaults();
-    rightMotorFront.clearStickyFaults();
-    leftMotorBack.clearStickyFaults();
-    rightMotorBack.clearStickyFaults();
-
-    
-  }
-
-  private WPI_TalonFX updateGeneralStatusFrame(WPI_TalonFX motor) {
-    motor.setStatusFramePeriod(StatusFrame.Status_1_General, 255);
-    motor.setStatusFramePeriod(StatusFrame.Status_2_Feedback0, 255);
-    return motor;
   }
 
   public void resetPose2D(Pose2d pose) {
-    rightMotorTop.setSelectedSensorPosition(0);
-    leftMotorTop.setSelectedSensorPosition(0);
-    gyro.reset();
-    gyro.setAngleAdjustment(pose.getRotation().getDegrees());
+    resetEncoders();
+    gyroOffset = inputs.gyroAngleDeg - pose.getRotation().getDegrees();
     driveOdometry.resetPosition(pose, getHeading());
   }
 
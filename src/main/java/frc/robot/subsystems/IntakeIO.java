@@ -0,0 +1,72 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems;
+
+import frc.robot.utils.InputsTable;
+import frc.robot.utils.LoggableInputs;
+
+/**
+ * Intake roller, lower indexer belts and color sensor. Replay uses these empty
+ * defaults, the inputs come from the log instead.
+ */
+public interface IntakeIO {
+
+  public static class IntakeIOInputs implements LoggableInputs {
+    public double intakeOutputPercent = 0;
+    public double indexerOutputPercent = 0;
+    // For jam detection
+    public double intakeStatorCurrent = 0;
+    public double intakeVelocityClicksPer100ms = 0;
+    public double indexerStatorCurrent = 0;
+    public double indexerVelocityClicksPer100ms = 0;
+    // Color sensor, read once per loop since I2C is slow
+    public double colorSensorProximity = 0;
+    public int colorSensorRed = 0;
+    public int colorSensorGreen = 0;
+    public int colorSensorBlue = 0;
+
+    @Override
+    public void toLog(InputsTable table) {
+      table.put("IntakeOutput", intakeOutputPercent);
+      table.put("IndexerOutput", indexerOutputPercent);
+      table.put("IntakeCurrent", intakeStatorCurrent);
+      table.put("IntakeVelocity", intakeVelocityClicksPer100ms);
+      table.put("IndexerCurrent", indexerStatorCurrent);
+      table.put("IndexerVelocity", indexerVelocityClicksPer100ms);
+      table.put("Proximity", colorSensorProximity);
+      table.put("Red", colorSensorRed);
+      table.put("Green", colorSensorGreen);
+      table.put("Blue", colorSensorBlue);
+    }
+
+    @Override
+    public void fromLog(InputsTable table) {
+      intakeOutputPercent = table.get("IntakeOutput", intakeOutputPercent);
+      indexerOutputPercent = table.get("IndexerOutput", indexerOutputPercent);
+      intakeStatorCurrent = table.get("IntakeCurrent", intakeStatorCurrent);
+      intakeVelocityClicksPer100ms = table.get("IntakeVelocity", intakeVelocityClicksPer100ms);
+      indexerStatorCurrent = table.get("IndexerCurrent", indexerStatorCurrent);
+      indexerVelocityClicksPer100ms = table.get("IndexerVelocity", indexerVelocityClicksPer100ms);
+      colorSensorProximity = table.get("Proximity", colorSensorProximity);
+      colorSensorRed = (int) table.get("Red", colorSensorRed);
+      colorSensorGreen = (int) table.get("Green", colorSensorGreen);
+      colorSensorBlue = (int) table.get("Blue", colorSensorBlue);
+    }
+  }
+
+  /**
+   * Read every sensor, once per loop
+   */
+  public default void updateInputs(IntakeIOInputs inputs) {}
+
+  public default void setIntake(double percent) {}
+
+  public default void setIndexer(double percent) {}
+
+  /**
+   * Closed loop on the Talons
+   */
+  public default void setIndexerVelocity(double clicksPer100ms) {}
+}
@@ -0,0 +1,86 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems;
+
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.StatusFrame;
+import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
+import com.ctre.phoenix.motorcontrol.can.WPI_TalonFX;
+import com.revrobotics.ColorSensorV3;
+import com.revrobotics.ColorSensorV3.RawColor;
+
+import edu.wpi.first.wpilibj.I2C.Port;
+import frc.robot.Constants;
+import frc.robot.Constants.JamConstants;
+import frc.robot.utils.TalonConfig;
+
+import static frc.robot.Constants.IntakeConstants.*;
+import static frc.robot.Constants.LoaderConstants.FEED_VOLTAGE_COMPENSATION;
+
+public class IntakeIOReal implements IntakeIO {
+  private WPI_TalonFX intakeMotor = new WPI_TalonFX(INTAKE_MOTOR_PORT, Constants.CANIVORE_NAME);
+  private WPI_TalonFX indexerLeftMotor = new WPI_TalonFX(INDEXER_LEFT_PORT, Constants.CANIVORE_NAME);
+  private WPI_TalonFX indexerRightMotor = new WPI_TalonFX(INDEXER_RIGHT_PORT, Constants.CANIVORE_NAME);
+
+  //private ColorMUXed colorSensorHigh = new ColorMUXed(COLOR_SENSOR_HIGH_PORT);
+  //private ColorMUXed colorSensorLow = new ColorMUXed(COLOR_SENSOR_LOW_PORT);
+  private ColorSensorV3 colorSensorLow = new ColorSensorV3(Port.kMXP);
+
+  public IntakeIOReal() {
+    indexerLeftMotor.setInverted(INDEXER_LEFT_INVERTED);
+    indexerRightMotor.setInverted(INDEXER_RIGHT_INVERTED);
+    intakeMotor.setInverted(INTAKE_INVERTED);
+    // Fresh current and velocity every loop for jam detection, the right indexer isn't read
+    new TalonConfig()
+        .statusFramePeriod(StatusFrame.Status_2_Feedback0, JamConstants.STATUS_FRAME_PERIOD)
+        .statusFramePeriod(StatusFrameEnhanced.Status_Brushless_Current, JamConstants.STATUS_FRAME_PERIOD)
+        .apply(intakeMotor);
+    // Both indexer motors run the same velocity loop
+    new TalonConfig().slowStatusFrames()
+        .velocityGains(INDEXER_KP, INDEXER_KF).voltageCompensation(FEED_VOLTAGE_COMPENSATION)
+        .apply(indexerRightMotor);
+    new TalonConfig()
+        .statusFramePeriod(StatusFrame.Status_2_Feedback0, JamConstants.STATUS_FRAME_PERIOD)
+        .statusFramePeriod(StatusFrameEnhanced.Status_Brushless_Current, JamConstants.STATUS_FRAME_PERIOD)
+        .velocityGains(INDEXER_KP, INDEXER_KF).voltageCompensation(FEED_VOLTAGE_COMPENSATION)
+        .apply(indexerLeftMotor);
+  }
+
+  @Override
+  public void updateInputs(IntakeIOInputs inputs) {
+    inputs.intakeOutputPercent = intakeMotor.getMotorOutputPercent();
+    inputs.indexerOutputPercent = indexerLeftMotor.getMotorOutputPercent();
+    inputs.intakeStatorCurrent = intakeMotor.getStatorCurrent();
+    inputs.intakeVelocityClicksPer100ms = intakeMotor.getSelectedSensorVelocity();
+    inputs.indexerStatorCurrent = indexerLeftMotor.getStatorCurrent();
+    inputs.indexerVelocityClicksPer100ms = indexerLeftMotor.getSelectedSensorVelocity();
+    updateColorSensor(inputs);
+  }
+
+  protected void updateColorSensor(IntakeIOInputs inputs) {
+    inputs.colorSensorProximity = colorSensorLow.getProximity();
+    RawColor color = colorSensorLow.getRawColor();
+    inputs.colorSensorRed = color.red;
+    inputs.colorSensorGreen = color.green;
+    inputs.colorSensorBlue = color.blue;
+  }
+
+  @Override
+  public void setIntake(double percent) {
+    intakeMotor.set(percent);
+  }
+
+  @Override
+  public void setIndexer(double percent) {
+    indexerLeftMotor.set(percent);
+    indexerRightMotor.set(percent);
+  }
+
+  @Override
+  public void setIndexerVelocity(double clicksPer100ms) {
+    indexerLeftMotor.set(ControlMode.Velocity, clicksPer100ms);
+    indexerRightMotor.set(ControlMode.Velocity, clicksPer100ms);
+  }
+}
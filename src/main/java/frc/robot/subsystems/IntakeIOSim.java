@@ -0,0 +1,46 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems;
+
+import frc.robot.RobotContainer;
+import frc.robot.utils.BallSim;
+import frc.robot.utils.ColorRange;
+
+import static frc.robot.Constants.IntakeConstants.INDEXER_KF;
+import static frc.robot.Constants.LoaderConstants.*;
+
+/**
+ * Real motors, color sensor readings come from {@link BallSim}. The indexer
+ * velocity is run as its feedforward, the simulated Talons have no sensor to
+ * close the loop on.
+ */
+public class IntakeIOSim extends IntakeIOReal {
+  private final BallSim ballSim = BallSim.getInstance();
+
+  @Override
+  public void updateInputs(IntakeIOInputs inputs) {
+    super.updateInputs(inputs);
+    // Free speed is 1023 / kF, the belt carries no load worth modeling
+    inputs.indexerVelocityClicksPer100ms = inputs.indexerOutputPercent * 1023 / INDEXER_KF;
+    ballSim.setIntakeSpeed(inputs.intakeOutputPercent);
+    ballSim.setIndexerSpeed(inputs.indexerOutputPercent);
+  }
+
+  @Override
+  public void setIndexerVelocity(double clicksPer100ms) {
+    setIndexer(clicksPer100ms * INDEXER_KF / 1023);
+  }
+
+  @Override
+  protected void updateColorSensor(IntakeIOInputs inputs) {
+    boolean atSensor = ballSim.isBallAtColorSensor();
+    // Every ball is ours, there's no field to pick opponent balls up from
+    ColorRange color = RobotContainer.getTeamColor() ? RED : BLUE;
+    inputs.colorSensorProximity = atSensor ? 2047 : 0;
+    inputs.colorSensorRed = atSensor ? color.color.red : 0;
+    inputs.colorSensorGreen = atSensor ? color.color.green : 0;
+    inputs.colorSensorBlue = atSensor ? color.color.blue : 0;
+  }
+}
@@ -4,19 +4,23 @@
 
 package frc.robot.subsystems;
 
-import com.ctre.phoenix.motorcontrol.can.WPI_TalonFX;
 import com.revrobotics.CANSparkMax;
-import com.revrobotics.ColorSensorV3;
 import com.revrobotics.CANSparkMax.IdleMode;
 import com.revrobotics.CANSparkMaxLowLevel.MotorType;
 import com.revrobotics.ColorSensorV3.RawColor;
 
-import edu.wpi.first.wpilibj.I2C.Port;
 import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj.shuffleboard.ShuffleboardTab;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
-import frc.robot.Constants;
+import frc.robot.Constants.DriveConstants;
+import frc.robot.Constants.JamConstants;
+import frc.robot.subsystems.IntakeIO.IntakeIOInputs;
+import frc.robot.utils.BallInventory;
+import frc.robot.utils.InputsTable;
+import frc.robot.utils.JamDetector;
 import frc.robot.utils.Logging;
+import frc.robot.utils.LoopProfiler;
+import frc.robot.utils.TelemetryLog;
 
 import static frc.robot.Constants.IntakeConstants.*;
 import static frc.robot.Constants.LoaderConstants.*;
@@ -24,37 +28,62 @@ import static frc.robot.Constants.LoaderConstants.*;
 
 public class IntakeSubsystem extends SubsystemBase {
 
-  private WPI_TalonFX intakeMotor = new WPI_TalonFX(INTAKE_MOTOR_PORT, Constants.CANIVORE_NAME);
-  private WPI_TalonFX indexerLeftMotor = new WPI_TalonFX(INDEXER_LEFT_PORT, Constants.CANIVORE_NAME);
-  private WPI_TalonFX indexerRightMotor = new WPI_TalonFX(INDEXER_RIGHT_PORT, Constants.CANIVORE_NAME);
+  private final IntakeIO io;
+  // Static so commands can check the color sensor without the subsystem
+  private static final IntakeIOInputs inputs = new IntakeIOInputs();
+  private final InputsTable inputsTable;
+  private final BallInventory inventory = BallInventory.getInstance();
+  private final JamDetector intakeJam = new JamDetector(JamConstants.INTAKE_STALL_CURRENT, JamConstants.STALL_VELOCITY);
+  private final JamDetector indexerJam = new JamDetector(JamConstants.INDEXER_STALL_CURRENT, JamConstants.STALL_VELOCITY);
   // private CANSparkMax leftRetractMotor = new CANSparkMax(INTAKE_RETRACT_LEFT_PORT, MotorType.kBrushless);
   // private CANSparkMax rightRetractMotor = new CANSparkMax(INTAKE_RETRACT_RIGHT_PORT, MotorType.kBrushless);
 
   public static ShuffleboardTab tab = Shuffleboard.getTab("IntakeSubsystem");
 
-  //private ColorMUXed colorSensorHigh = new ColorMUXed(COLOR_SENSOR_HIGH_PORT);
-  //private ColorMUXed colorSensorLow = new ColorMUXed(COLOR_SENSOR_LOW_PORT);
-  private static ColorSensorV3 colorSensorLow = new ColorSensorV3(Port.kMXP);
+  // Binary telemetry channels
+  private TelemetryLog telemetry;
+  private int intakeOutputChannel, indexerOutputChannel, ballCountChannel;
 
-  /** Creates a new IntakeSubsystem. */
-  public IntakeSubsystem() {
-    indexerLeftMotor.setInverted(INDEXER_LEFT_INVERTED);
-    indexerRightMotor.setInverted(INDEXER_RIGHT_INVERTED);
-    Constants.updateGeneralStatusFrame(indexerRightMotor);
-    intakeMotor.setInverted(INTAKE_INVERTED);
+  // Loop timing
+  private LoopProfiler profiler = LoopProfiler.getInstance();
+  private int periodicSection = profiler.addSection("Intake periodic");
 
-    
-    
-    if(Logging.intake) {
+  /**
+   * Creates a new IntakeSubsystem.
+   * @param io Real, sim, or replay hardware
+   */
+  public IntakeSubsystem(IntakeIO io) {
+    this(io, true);
+  }
+
+  /**
+   * @param io Real, sim, or replay hardware
+   * @param publish False for a copy that only runs code, it registers no
+   *                dashboards or telemetry (see {@link frc.robot.WarmUp})
+   */
+  public IntakeSubsystem(IntakeIO io, boolean publish) {
+    inputsTable = new InputsTable("Intake", !publish);
+    this.io = io;
+
+    if(Logging.intake && publish) {
       log();
     }
+    if(Logging.binary && publish) {
+      telemetry = TelemetryLog.getInstance();
+      intakeOutputChannel = telemetry.addChannel("Intake/Intake Output");
+      indexerOutputChannel = telemetry.addChannel("Intake/Indexer Output");
+      ballCountChannel = telemetry.addChannel("Intake/Balls");
+    }
   }
 
   public void log() {
     // tab.addNumber("supply current", () -> intakeMotor.getSupplyCurrent());
     // tab.addNumber("stator current", () -> intakeMotor.getStatorCurrent());
-    tab.addNumber("ColorSensor low", () -> colorSensorLow.getProximity());
+    tab.addNumber("ColorSensor low", () -> inputs.colorSensorProximity);
     tab.addBoolean("At ColorSensor", () -> isBallLow());
+    tab.addNumber("Balls", () -> inventory.getBallCount());
+    tab.addNumber("Intake Jams", () -> intakeJam.getJamCount());
+    tab.addNumber("Indexer Jams", () -> indexerJam.getJamCount());
     tab.addNumber("Ball Red Error", () -> RED.getColorError(getColorSensorRaw()));
     tab.addNumber("Ball Blue Error", () -> BLUE.getColorError(getColorSensorRaw()));
     tab.addNumber("Blue Value", () -> (double)getColorSensorRaw().blue);
@@ -65,7 +94,23 @@ public class IntakeSubsystem extends SubsystemBase {
 
   @Override
   public void periodic() {
+    long start = profiler.start();
     // This method will be called once per scheduler run
+    io.updateInputs(inputs);
+    inputsTable.process(inputs);
+    intakeJam.update(inputs.intakeOutputPercent, inputs.intakeStatorCurrent, inputs.intakeVelocityClicksPer100ms);
+    // A ball waiting at the sensor holds the indexer still on purpose
+    indexerJam.update(isBallLow() ? 0 : inputs.indexerOutputPercent, inputs.indexerStatorCurrent,
+        inputs.indexerVelocityClicksPer100ms);
+    // Color is only needed while a ball is there
+    inventory.update(isBallLow(), isBallLow() ? getColorSensorRaw() : null,
+        inputs.intakeOutputPercent, inputs.indexerOutputPercent);
+    if(Logging.binary) {
+      telemetry.log(intakeOutputChannel, inputs.intakeOutputPercent);
+      telemetry.log(indexerOutputChannel, inputs.indexerOutputPercent);
+      telemetry.log(ballCountChannel, inventory.getBallCount());
+    }
+    if(Logging.timing) profiler.record(periodicSection, start);
   }
 
 
@@ -76,7 +121,9 @@ public class IntakeSubsystem extends SubsystemBase {
    * @param speed
    */
   public void runIntake(double speed) {
-    intakeMotor.set(speed);
+    speed = intakeJam.filter(speed);
+    inputsTable.putOutput("Intake", speed);
+    io.setIntake(speed);
   }
 
   
@@ -88,8 +135,26 @@ public class IntakeSubsystem extends SubsystemBase {
    * @param speed
    */
   public void runIndexerLow(double speed) {
-    indexerLeftMotor.set(speed);
-    indexerRightMotor.set(speed);
+    speed = indexerJam.filter(speed);
+    inputsTable.putOutput("Indexer", speed);
+    io.setIndexer(speed);
+  }
+
+  /**
+   * Holds the indexer belt speed on the Talons, a jam pulse still goes out as
+   * percent
+   *
+   * @param metersPerSecond Belt speed
+   */
+  public void runIndexerVelocity(double metersPerSecond) {
+    double clicksPer100ms = metersPerSecond / INDEXER_METERS_PER_ROTATION * DriveConstants.CLICKS_PER_ROT / 10;
+    if (indexerJam.isUnjamming()) {
+      // Same direction as the velocity, the feedforward turns it into percent
+      runIndexerLow(clicksPer100ms * INDEXER_KF / 1023);
+      return;
+    }
+    inputsTable.putOutput("IndexerVelocity", metersPerSecond);
+    io.setIndexerVelocity(clicksPer100ms);
   }
 
   // public boolean isBallHigh() {
@@ -97,20 +162,19 @@ public class IntakeSubsystem extends SubsystemBase {
   // }
 
   public static boolean isBallLow() {
-    return colorSensorLow.getProximity() > COLOR_SENSOR_PROXIMITY_THRESHOLD;
+    return inputs.colorSensorProximity > COLOR_SENSOR_PROXIMITY_THRESHOLD;
   }
 
   public static RawColor getColorSensorRaw(){
-    return colorSensorLow.getRawColor();
+    return new RawColor(inputs.colorSensorRed, inputs.colorSensorGreen, inputs.colorSensorBlue, 0);
   }
 
   /**
    * Disables all motors 
    */
   public void disable() {
-    indexerLeftMotor.set(0);
-    indexerRightMotor.set(0);
-    intakeMotor.set(0);
+    runIndexerLow(0);
+    runIntake(0);
   }
 
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems;
+
+import frc.robot.utils.InputsTable;
+import frc.robot.utils.LoggableInputs;
+
+/**
+ * Loader feeding the shooter. Replay uses these empty defaults, the inputs come
+ * from the log instead.
+ */
+public interface LoaderIO {
+
+  public static class LoaderIOInputs implements LoggableInputs {
+    public double velocityClicksPer100ms = 0;
+    public double outputPercent = 0;
+    public double statorCurrent = 0;
+
+    @Override
+    public void toLog(InputsTable table) {
+      table.put("Velocity", velocityClicksPer100ms);
+      table.put("Output", outputPercent);
+      table.put("Current", statorCurrent);
+    }
+
+    @Override
+    public void fromLog(InputsTable table) {
+      velocityClicksPer100ms = table.get("Velocity", velocityClicksPer100ms);
+      outputPercent = table.get("Output", outputPercent);
+      statorCurrent = table.get("Current", statorCurrent);
+    }
+  }
+
+  /**
+   * Read every sensor, once per loop
+   */
+  public default void updateInputs(LoaderIOInputs inputs) {}
+
+  public default void setLoader(double percent) {}
+
+  /**
+   * Closed loop on the Talon
+   */
+  public default void setLoaderVelocity(double clicksPer100ms) {}
+}
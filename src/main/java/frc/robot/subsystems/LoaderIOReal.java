@@ -0,0 +1,50 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems;
+
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.NeutralMode;
+import com.ctre.phoenix.motorcontrol.StatusFrame;
+import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
+import com.ctre.phoenix.motorcontrol.can.WPI_TalonFX;
+
+import frc.robot.Constants;
+import frc.robot.Constants.JamConstants;
+import frc.robot.utils.TalonConfig;
+
+import static frc.robot.Constants.LoaderConstants.*;
+
+public class LoaderIOReal implements LoaderIO {
+  private WPI_TalonFX loaderMotor = new WPI_TalonFX(LOADER_PORT, Constants.CANIVORE_NAME);
+
+  public LoaderIOReal() {
+    //loaderMotor.configFactoryDefault();
+    loaderMotor.setInverted(LOADER_INVERSE);
+    new TalonConfig().neutralMode(NeutralMode.Brake).clearStickyFaults()
+        // Fresh current and velocity every loop for jam detection
+        .statusFramePeriod(StatusFrame.Status_2_Feedback0, JamConstants.STATUS_FRAME_PERIOD)
+        .statusFramePeriod(StatusFrameEnhanced.Status_Brushless_Current, JamConstants.STATUS_FRAME_PERIOD)
+        .velocityGains(LOADER_KP, LOADER_KF)
+        .voltageCompensation(FEED_VOLTAGE_COMPENSATION)
+        .apply(loaderMotor);
+  }
+
+  @Override
+  public void updateInputs(LoaderIOInputs inputs) {
+    inputs.velocityClicksPer100ms = loaderMotor.getSelectedSensorVelocity();
+    inputs.outputPercent = loaderMotor.getMotorOutputPercent();
+    inputs.statorCurrent = loaderMotor.getStatorCurrent();
+  }
+
+  @Override
+  public void setLoader(double percent) {
+    loaderMotor.set(percent);
+  }
+
+  @Override
+  public void setLoaderVelocity(double clicksPer100ms) {
+    loaderMotor.set(ControlMode.Velocity, clicksPer100ms);
+  }
+}
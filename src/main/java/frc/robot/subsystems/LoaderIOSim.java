@@ -0,0 +1,32 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems;
+
+import frc.robot.utils.BallSim;
+
+import static frc.robot.Constants.LoaderConstants.LOADER_KF;
+
+/**
+ * Real motor, also moves the balls in {@link BallSim}. The simulated Talon has
+ * no sensor to close a velocity loop on, so a velocity is run as its
+ * feedforward and the belt is modeled at that speed.
+ */
+public class LoaderIOSim extends LoaderIOReal {
+
+  @Override
+  public void updateInputs(LoaderIOInputs inputs) {
+    super.updateInputs(inputs);
+    // Free speed is 1023 / kF, the belt carries no load worth modeling
+    inputs.velocityClicksPer100ms = inputs.outputPercent * 1023 / LOADER_KF;
+    // Loader is the last stage, move the balls once every stage has its speed
+    BallSim.getInstance().setLoaderSpeed(inputs.outputPercent);
+    BallSim.getInstance().update(0.02);
+  }
+
+  @Override
+  public void setLoaderVelocity(double clicksPer100ms) {
+    setLoader(clicksPer100ms * LOADER_KF / 1023);
+  }
+}
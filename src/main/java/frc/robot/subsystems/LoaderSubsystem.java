@@ -4,13 +4,17 @@
 
 package frc.robot.subsystems;
 
-import com.ctre.phoenix.motorcontrol.NeutralMode;
-import com.ctre.phoenix.motorcontrol.can.WPI_TalonFX;
-
 import edu.wpi.first.wpilibj.shuffleboard.ShuffleboardTab;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
-import frc.robot.Constants;
+import frc.robot.Constants.DriveConstants;
+import frc.robot.Constants.JamConstants;
+import frc.robot.subsystems.LoaderIO.LoaderIOInputs;
+import frc.robot.utils.BallInventory;
+import frc.robot.utils.InputsTable;
+import frc.robot.utils.JamDetector;
 import frc.robot.utils.Logging;
+import frc.robot.utils.LoopProfiler;
+import frc.robot.utils.TelemetryLog;
 
 import static frc.robot.Constants.LoaderConstants.*;
 
@@ -18,38 +22,92 @@ import static frc.robot.Constants.LoaderConstants.*;
 public class LoaderSubsystem extends SubsystemBase {
   
   public static ShuffleboardTab tab = IntakeSubsystem.tab;
-  private WPI_TalonFX loaderMotor = new WPI_TalonFX(LOADER_PORT, Constants.CANIVORE_NAME);
-  /** Creates a new LoaderSubsystem. */
-  public LoaderSubsystem() {
-    //loaderMotor.configFactoryDefault();
-    loaderMotor.setInverted(LOADER_INVERSE);
-    loaderMotor.setNeutralMode(NeutralMode.Brake);
-    loaderMotor.clearStickyFaults();
-
-    if(Logging.loader) {
+  private final LoaderIO io;
+  private final LoaderIOInputs inputs = new LoaderIOInputs();
+  private final InputsTable inputsTable;
+  private final JamDetector jam = new JamDetector(JamConstants.LOADER_STALL_CURRENT, JamConstants.STALL_VELOCITY);
+
+  // Binary telemetry channels
+  private TelemetryLog telemetry;
+  private int loaderSpeedChannel;
+  // Loop timing
+  private LoopProfiler profiler = LoopProfiler.getInstance();
+  private int periodicSection = profiler.addSection("Loader periodic");
+
+  /**
+   * Creates a new LoaderSubsystem.
+   * @param io Real, sim, or replay hardware
+   */
+  public LoaderSubsystem(LoaderIO io) {
+    this(io, true);
+  }
+
+  /**
+   * @param io Real, sim, or replay hardware
+   * @param publish False for a copy that only runs code, it registers no
+   *                dashboards or telemetry (see {@link frc.robot.WarmUp})
+   */
+  public LoaderSubsystem(LoaderIO io, boolean publish) {
+    inputsTable = new InputsTable("Loader", !publish);
+    this.io = io;
+
+    if(Logging.loader && publish) {
       log();
     }
+    if(Logging.binary && publish) {
+      telemetry = TelemetryLog.getInstance();
+      loaderSpeedChannel = telemetry.addChannel("Loader/Speed");
+    }
   }
 
   public void log() {
-    tab.addNumber("Loader speed", () -> loaderMotor.getSelectedSensorVelocity());
+    tab.addNumber("Loader speed", () -> inputs.velocityClicksPer100ms);
+    tab.addNumber("Loader Jams", () -> jam.getJamCount());
   }
 
   @Override
   public void periodic() {
+    long start = profiler.start();
     // This method will be called once per scheduler run
+    io.updateInputs(inputs);
+    inputsTable.process(inputs);
+    BallInventory.getInstance().setLoaderPercent(inputs.outputPercent);
+    jam.update(inputs.outputPercent, inputs.statorCurrent, inputs.velocityClicksPer100ms);
+    if(Logging.binary) {
+      telemetry.log(loaderSpeedChannel, inputs.velocityClicksPer100ms);
+    }
+    if(Logging.timing) profiler.record(periodicSection, start);
   }
-  
+
   /**
    * This will load balls into the shooter
    * 
    * @param speed
    */
   public void runLoader(double speed) {
-    loaderMotor.set(speed);
+    speed = jam.filter(speed);
+    inputsTable.putOutput("Loader", speed);
+    io.setLoader(speed);
+  }
+
+  /**
+   * Holds the belt speed on the Talon, so balls move the same at any battery
+   * voltage. A jam pulse still goes out as percent.
+   *
+   * @param metersPerSecond Belt speed
+   */
+  public void runLoaderVelocity(double metersPerSecond) {
+    double clicksPer100ms = metersPerSecond / LOADER_METERS_PER_ROTATION * DriveConstants.CLICKS_PER_ROT / 10;
+    if (jam.isUnjamming()) {
+      // Same direction as the velocity, the feedforward turns it into percent
+      runLoader(clicksPer100ms * LOADER_KF / 1023);
+      return;
+    }
+    inputsTable.putOutput("LoaderVelocity", metersPerSecond);
+    io.setLoaderVelocity(clicksPer100ms);
   }
 
   public void disable() {
-    loaderMotor.set(0);
+    runLoader(0);
   }
 }
@@ -0,0 +1,52 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems;
+
+import frc.robot.utils.InputsTable;
+import frc.robot.utils.LoggableInputs;
+
+/**
+ * Power and aim flywheels. Replay uses these empty defaults, the inputs come
+ * from the log instead.
+ */
+public interface ShooterIO {
+
+  public static class ShooterIOInputs implements LoggableInputs {
+    public double powerWheelRPM = 0;
+    public double aimWheelRPM = 0;
+    public double powerWheelAppliedVolts = 0;
+    public double aimWheelAppliedVolts = 0;
+
+    @Override
+    public void toLog(InputsTable table) {
+      table.put("PowerRPM", powerWheelRPM);
+      table.put("AimRPM", aimWheelRPM);
+      table.put("PowerAppliedVolts", powerWheelAppliedVolts);
+      table.put("AimAppliedVolts", aimWheelAppliedVolts);
+    }
+
+    @Override
+    public void fromLog(InputsTable table) {
+      powerWheelRPM = table.get("PowerRPM", powerWheelRPM);
+      aimWheelRPM = table.get("AimRPM", aimWheelRPM);
+      powerWheelAppliedVolts = table.get("PowerAppliedVolts", powerWheelAppliedVolts);
+      aimWheelAppliedVolts = table.get("AimAppliedVolts", aimWheelAppliedVolts);
+    }
+  }
+
+  /**
+   * Read every sensor, once per loop
+   */
+  public default void updateInputs(ShooterIOInputs inputs) {}
+
+  public default void setPowerVolts(double volts) {}
+
+  public default void setAimVolts(double volts) {}
+
+  /**
+   * Neutral output on every wheel
+   */
+  public default void stop() {}
+}
@@ -0,0 +1,65 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems;
+
+import com.ctre.phoenix.motorcontrol.StatusFrame;
+import com.ctre.phoenix.motorcontrol.can.WPI_TalonFX;
+
+import frc.robot.Constants;
+import frc.robot.utils.TalonConfig;
+
+import static frc.robot.Constants.DriveConstants.*;
+import static frc.robot.Constants.ShooterConstants.*;
+
+public class ShooterIOReal implements ShooterIO {
+  protected WPI_TalonFX powerWheelRight = new WPI_TalonFX(RIGHT_POWER_WHEEL, Constants.CANIVORE_NAME);
+  private WPI_TalonFX powerWheelLeft = new WPI_TalonFX(LEFT_POWER_WHEEL, Constants.CANIVORE_NAME);
+  protected WPI_TalonFX aimWheel = new WPI_TalonFX(AIM_WHEEL, Constants.CANIVORE_NAME);
+
+  //private MotorControllerGroup powerWheelGroup = new MotorControllerGroup(powerWheelLeft, powerWheelRight);
+
+  public ShooterIOReal() {
+    //powerWheelRight.configFactoryDefault();
+    //powerWheelLeft.configFactoryDefault();
+    //aimWheel.configFactoryDefault();
+
+    powerWheelRight.setInverted(RIGHT_POWER_WHEEL_INVERTED);
+    powerWheelLeft.setInverted(LEFT_POWER_WHEEL_INVERTED);
+
+    new TalonConfig()
+        .statusFramePeriod(StatusFrame.Status_1_General, powerWheelLeft.getStatusFramePeriod(StatusFrame.Status_1_General))
+        .statusFramePeriod(StatusFrame.Status_2_Feedback0, powerWheelLeft.getStatusFramePeriod(StatusFrame.Status_2_Feedback0))
+        .clearStickyFaults()
+        .apply(powerWheelRight);
+    new TalonConfig().clearStickyFaults().apply(powerWheelLeft);
+    new TalonConfig().clearStickyFaults().apply(aimWheel);
+  }
+
+  @Override
+  public void updateInputs(ShooterIOInputs inputs) {
+    inputs.powerWheelRPM = (powerWheelRight.getSelectedSensorVelocity() / CLICKS_PER_ROT) * 600;
+    inputs.aimWheelRPM = (aimWheel.getSelectedSensorVelocity() / CLICKS_PER_ROT) * 600;
+    inputs.powerWheelAppliedVolts = powerWheelRight.getMotorOutputVoltage();
+    inputs.aimWheelAppliedVolts = aimWheel.getMotorOutputVoltage();
+  }
+
+  @Override
+  public void setPowerVolts(double volts) {
+    powerWheelLeft.setVoltage(volts);
+    powerWheelRight.setVoltage(volts);
+  }
+
+  @Override
+  public void setAimVolts(double volts) {
+    aimWheel.setVoltage(volts);
+  }
+
+  @Override
+  public void stop() {
+    powerWheelLeft.set(0);
+    powerWheelRight.set(0);
+    aimWheel.set(0);
+  }
+}
@@ -0,0 +1,49 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems;
+
+import com.ctre.phoenix.motorcontrol.TalonFXSimCollection;
+
+import edu.wpi.first.math.VecBuilder;
+import edu.wpi.first.math.system.plant.DCMotor;
+import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj.simulation.FlywheelSim;
+import frc.robot.utils.BallSim;
+
+import static frc.robot.Constants.DriveConstants.*;
+import static frc.robot.Constants.SimConstants.*;
+
+/**
+ * Real shooter code driving flywheel models through the Talon sim devices
+ */
+public class ShooterIOSim extends ShooterIOReal {
+  private FlywheelSim powerWheelSim = new FlywheelSim(DCMotor.getFalcon500(2), 1, POWER_WHEEL_MOI);
+  private FlywheelSim aimWheelSim = new FlywheelSim(DCMotor.getFalcon500(1), 1, AIM_WHEEL_MOI);
+  private TalonFXSimCollection powerWheelSimCollection = powerWheelRight.getSimCollection();
+  private TalonFXSimCollection aimWheelSimCollection = aimWheel.getSimCollection();
+
+  @Override
+  public void updateInputs(ShooterIOInputs inputs) {
+    powerWheelSimCollection.setBusVoltage(RobotController.getBatteryVoltage());
+    aimWheelSimCollection.setBusVoltage(RobotController.getBatteryVoltage());
+    powerWheelSim.setInputVoltage(powerWheelSimCollection.getMotorOutputLeadVoltage());
+    aimWheelSim.setInputVoltage(aimWheelSimCollection.getMotorOutputLeadVoltage());
+    powerWheelSim.update(0.02);
+    aimWheelSim.update(0.02);
+
+    // Each ball takes a share of the wheels' energy, speed goes with its square root
+    int shots = BallSim.getInstance().takeShots();
+    if (shots > 0) {
+      double remaining = Math.pow(1 - SHOT_ENERGY_LOSS, shots / 2.0);
+      powerWheelSim.setState(VecBuilder.fill(powerWheelSim.getAngularVelocityRadPerSec() * remaining));
+      aimWheelSim.setState(VecBuilder.fill(aimWheelSim.getAngularVelocityRadPerSec() * remaining));
+    }
+
+    powerWheelSimCollection.setIntegratedSensorVelocity((int) (powerWheelSim.getAngularVelocityRPM() * CLICKS_PER_ROT / 600));
+    aimWheelSimCollection.setIntegratedSensorVelocity((int) (aimWheelSim.getAngularVelocityRPM() * CLICKS_PER_ROT / 600));
+
+    super.updateInputs(inputs);
+  }
+}
@@ -3,55 +3,84 @@
 // the WPILib BSD license file in the root directory of this project.
 
 package frc.robot.subsystems;
-import com.ctre.phoenix.motorcontrol.StatusFrame;
-import com.ctre.phoenix.motorcontrol.can.WPI_TalonFX;
 import edu.wpi.first.math.controller.PIDController;
+import edu.wpi.first.wpilibj.RobotBase;
+import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj.shuffleboard.ShuffleboardTab;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
-import frc.robot.Constants;
+import frc.robot.Constants.SimConstants;
+import frc.robot.subsystems.ShooterIO.ShooterIOInputs;
+import frc.robot.utils.BallInventory;
+import frc.robot.utils.InputsTable;
 import frc.robot.utils.Logging;
+import frc.robot.utils.LoopProfiler;
+import frc.robot.utils.TelemetryLog;
 
-import static frc.robot.Constants.DriveConstants.*;
 import static frc.robot.Constants.ShooterConstants.*;
 
 public class ShooterSubsystem extends SubsystemBase {
-  /** Creates a new Shooter. */
-  private WPI_TalonFX powerWheelRight = new WPI_TalonFX(RIGHT_POWER_WHEEL, Constants.CANIVORE_NAME);
-  private WPI_TalonFX powerWheelLeft = new WPI_TalonFX(LEFT_POWER_WHEEL, Constants.CANIVORE_NAME);
-  private WPI_TalonFX aimWheel = new WPI_TalonFX(AIM_WHEEL, Constants.CANIVORE_NAME);
+  private final ShooterIO io;
+  private final ShooterIOInputs inputs = new ShooterIOInputs();
+  private final InputsTable inputsTable;
   private PIDController powerWheelPID = new PIDController(POWER_WHEEL_KP,POWER_WHEEL_KI, POWER_WHEEL_KD);
 
   private PIDController aimWheelPID = new PIDController(AIM_WHEEL_KP, AIM_WHEEL_KI, AIM_WHEEL_KD);
 
-  //private MotorControllerGroup powerWheelGroup = new MotorControllerGroup(powerWheelLeft, powerWheelRight);
-
   public static ShuffleboardTab tab = Shuffleboard.getTab("ShooterSystem");
 
   private double aimPID = 0;
   private double powerPID = 0;
 
-  public ShooterSubsystem() {
-    //powerWheelRight.configFactoryDefault();
-    //powerWheelLeft.configFactoryDefault();
-    //aimWheel.configFactoryDefault();
-
-    powerWheelRight.setInverted(RIGHT_POWER_WHEEL_INVERTED);
-    powerWheelLeft.setInverted(LEFT_POWER_WHEEL_INVERTED);
+  // Shot counting
+  private boolean spinning = false;
+  private boolean shotArmed = false;
+  private int ballsShot = 0;
+  private boolean spinningUp = false;
+  private double spinUpStartTime = 0;
+  private double lastSpinUpTime = 0;
+  // Replays are of real matches, only the desktop sim needs its own threshold
+  private final double shotRpmDrop = RobotBase.isReal() || Boolean.getBoolean("replay")
+      ? SHOT_RPM_DROP : SimConstants.SHOT_RPM_DROP;
+
+  // Binary telemetry channels
+  private TelemetryLog telemetry;
+  private int aimRPMChannel, powerRPMChannel, aimPIDChannel, powerPIDChannel;
+
+  // Loop timing
+  private LoopProfiler profiler = LoopProfiler.getInstance();
+  private int periodicSection = profiler.addSection("Shooter periodic");
 
-    powerWheelRight.setStatusFramePeriod(StatusFrame.Status_1_General, powerWheelLeft.getStatusFramePeriod(StatusFrame.Status_1_General));
-    powerWheelRight.setStatusFramePeriod(StatusFrame.Status_2_Feedback0, powerWheelLeft.getStatusFramePeriod(StatusFrame.Status_2_Feedback0));
+  /**
+   * Creates a new Shooter.
+   * @param io Real, sim, or replay hardware
+   */
+  public ShooterSubsystem(ShooterIO io) {
+    this(io, true);
+  }
 
-    powerWheelLeft.clearStickyFaults();
-    powerWheelRight.clearStickyFaults();
-    aimWheel.clearStickyFaults();
+  /**
+   * @param io Real, sim, or replay hardware
+   * @param publish False for a copy that only runs code, it registers no
+   *                dashboards or telemetry (see {@link frc.robot.WarmUp})
+   */
+  public ShooterSubsystem(ShooterIO io, boolean publish) {
+    inputsTable = new InputsTable("Shooter", !publish);
+    this.io = io;
 
     powerWheelPID.setTolerance(POWER_WHEEL_TOLERANCE);
     aimWheelPID.setTolerance(AIM_WHEEL_TOLERANCE);
 
-    if(Logging.shooter) {
+    if(Logging.shooter && publish) {
       log();
     }
+    if(Logging.binary && publish) {
+      telemetry = TelemetryLog.getInstance();
+      aimRPMChannel = telemetry.addChannel("Shooter/Aim RPM");
+      powerRPMChannel = telemetry.addChannel("Shooter/Power RPM");
+      aimPIDChannel = telemetry.addChannel("Shooter/Aim PID Out");
+      powerPIDChannel = telemetry.addChannel("Shooter/Power PID Out");
+    }
   }
 
   private void log() {
@@ -67,18 +96,71 @@ public class ShooterSubsystem extends SubsystemBase {
 
   @Override
   public void periodic() {
+    long start = profiler.start();
+    io.updateInputs(inputs);
+    inputsTable.process(inputs);
+    countShots();
     // This method will be called once per scheduler run
+    if(Logging.binary) {
+      telemetry.log(aimRPMChannel, getAimRPM());
+      telemetry.log(powerRPMChannel, getPowerRPM());
+      telemetry.log(aimPIDChannel, aimPID);
+      telemetry.log(powerPIDChannel, powerPID);
+    }
+    if(Logging.timing) profiler.record(periodicSection, start);
+  }
+
+  /**
+   * A ball leaving pulls the power wheel down, count each dip once it had
+   * reached speed
+   */
+  private void countShots() {
+    if (!spinning) {
+      shotArmed = false;
+    } else if (powerWheelPID.atSetpoint()) {
+      if (spinningUp && isAtSetpoint()) {
+        lastSpinUpTime = Timer.getFPGATimestamp() - spinUpStartTime;
+        spinningUp = false;
+      }
+      shotArmed = true;
+    } else if (shotArmed && powerWheelPID.getSetpoint() - getPowerRPM() > shotRpmDrop) {
+      recordShot();
+      shotArmed = false;
+    }
   }
+
+  /**
+   * Count a ball that was fed through but whose dip wasn't seen, e.g. at the
+   * low reject speed
+   */
+  public void recordUndetectedShot() {
+    recordShot();
+    shotArmed = false;
+  }
+
+  private void recordShot() {
+    ballsShot++;
+    BallInventory.getInstance().onShot();
+  }
+
   /**
    * Updates PID, call once
    * @param speed RPM (Rotations per Minute)
    */
   public void setPowerWheelRPM(double speed) {
+    if (!spinning) {
+      spinningUp = true;
+      spinUpStartTime = Timer.getFPGATimestamp();
+    }
+    spinning = true;
+    if (speed != powerWheelPID.getSetpoint()) {
+      // A new setpoint isn't a shot, wait to reach it again
+      shotArmed = false;
+    }
     powerPID = powerWheelPID.calculate(getPowerRPM(), speed);
     double powerFeedForward = (speed * POWER_WHEEL_KF) + POWER_WHEEL_KB;
     // SmartDashboard.putNumber("power feed foward", powerFeedForward);
-    powerWheelLeft.setVoltage(powerFeedForward + powerPID);
-    powerWheelRight.setVoltage(powerFeedForward + powerPID);
+    setPowerVolts(powerFeedForward + powerPID);
   }
 
   /**
@@ -89,16 +171,17 @@ public class ShooterSubsystem extends SubsystemBase {
     aimPID = aimWheelPID.calculate(getAimRPM(), speed);
     double aimWheelFeedForward = (speed * AIM_WHEEL_KF) + AIM_WHEEL_KB;
     // SmartDashboard.putNumber("aim feed foward", aimWheelFeedForward);
-    aimWheel.setVoltage(aimWheelFeedForward + aimPID);
+    setAimVolts(aimWheelFeedForward + aimPID);
   }
 
   /**
    * Disable all motors
    */
   public void disable() {
-    powerWheelLeft.set(0);
-    powerWheelRight.set(0);
-    aimWheel.set(0);
+    spinning = false;
+    inputsTable.putOutput("PowerVolts", 0);
+    inputsTable.putOutput("AimVolts", 0);
+    io.stop();
   }
 
   //GET
@@ -109,19 +192,34 @@ public class ShooterSubsystem extends SubsystemBase {
 
   }
 
+  /**
+   * @return Balls detected leaving the shooter since startup
+   */
+  public int getBallsShot() {
+    return ballsShot;
+  }
+
+  /**
+   * @return Seconds from the last spin up until both wheels reached speed
+   */
+  public double getLastSpinUpTime() {
+    return lastSpinUpTime;
+  }
+
   public double getPowerRPM(){
-    return (powerWheelRight.getSelectedSensorVelocity() / CLICKS_PER_ROT) * 600;
+    return inputs.powerWheelRPM;
   }
   public double getAimRPM(){
-    return (aimWheel.getSelectedSensorVelocity() / CLICKS_PER_ROT) * 600;
+    return inputs.aimWheelRPM;
   }
 
   public void setAimVolts(double volts) {
-    aimWheel.setVoltage(volts);
+    inputsTable.putOutput("AimVolts", volts);
+    io.setAimVolts(volts);
   }
 
   public void setPowerVolts(double volts) {
-    powerWheelLeft.setVoltage(volts);
-    powerWheelRight.setVoltage(volts);
+    inputsTable.putOutput("PowerVolts", volts);
+    io.setPowerVolts(volts);
   }
 }
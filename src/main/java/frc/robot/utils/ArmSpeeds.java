@@ -6,25 +6,44 @@ package frc.robot.utils;
 
 import edu.wpi.first.math.trajectory.TrapezoidProfile;
 
-/** Add your docs here. */
+/**
+ * Velocity/acceleration limits for the rotators (deg) and extenders (m).
+ * A max velocity of 0 leaves that axis neutral.
+ */
 public class ArmSpeeds {
-    private double extenderMaxVelocity;
-    private double extenderMaxAcceleration;
-    private double rotatorMaxVelocity;
-    private double rotatorMaxAcceleration;
+    private final double extenderMaxVelocity;
+    private final double extenderMaxAcceleration;
+    private final double rotatorMaxVelocity;
+    private final double rotatorMaxAcceleration;
+    private final TrapezoidProfile.Constraints rotatorConstraints;
+    private final TrapezoidProfile.Constraints extenderConstraints;
 
     public ArmSpeeds(double rotatorMaxVelocity, double rotatorMaxAcceleration, double extenderMaxVelocity, double extenderMaxAcceleration){
         this.extenderMaxVelocity = extenderMaxVelocity;
         this.extenderMaxAcceleration = extenderMaxAcceleration;
         this.rotatorMaxVelocity = rotatorMaxVelocity;
         this.rotatorMaxAcceleration = rotatorMaxAcceleration;
+        this.rotatorConstraints = new TrapezoidProfile.Constraints(rotatorMaxVelocity, rotatorMaxAcceleration);
+        this.extenderConstraints = new TrapezoidProfile.Constraints(extenderMaxVelocity, extenderMaxAcceleration);
     }
     
     public TrapezoidProfile.Constraints  getRotatorConstraints(){
-        return new TrapezoidProfile.Constraints(rotatorMaxVelocity, rotatorMaxAcceleration);
+        return rotatorConstraints;
     }
     public TrapezoidProfile.Constraints  getExtenderConstraints(){
-        return new TrapezoidProfile.Constraints(extenderMaxVelocity, extenderMaxAcceleration);
+        return extenderConstraints;
+    }
+    public double getRotatorMaxVelocity() {
+        return rotatorMaxVelocity;
+    }
+    public double getRotatorMaxAcceleration() {
+        return rotatorMaxAcceleration;
+    }
+    public double getExtenderMaxVelocity() {
+        return extenderMaxVelocity;
+    }
+    public double getExtenderMaxAcceleration() {
+        return extenderMaxAcceleration;
     }
     public boolean isRotatorNeutral(){
         return rotatorMaxVelocity == 0;
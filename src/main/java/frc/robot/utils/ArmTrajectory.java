@@ -0,0 +1,197 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utils;
+
+import static frc.robot.Constants.ClimberConstants.*;
+
+/**
+ * Plans extension and rotation together so both axes arrive at the same time.
+ *
+ * Each axis follows a trapezoid profile. The faster axis has its cruise velocity
+ * lowered to match the slower one, and if the combined path would cross the
+ * keep-out zone one axis is held back until it is clear.
+ *
+ * Call {@link #plan} once per move, then {@link #sample} every loop. Sampling
+ * writes into fields and does not allocate.
+ */
+public class ArmTrajectory {
+    private static final int KEEP_OUT_CHECKS = 50;
+    private static final double DELAY_STEP = 0.02; // s
+
+    private final Axis extender = new Axis();
+    private final Axis rotator = new Axis();
+    private final ArmSpeeds armSpeeds;
+    private double totalTime;
+
+    public ArmTrajectory(ArmSpeeds armSpeeds) {
+        this.armSpeeds = armSpeeds;
+    }
+
+    /**
+     * @param startLength Current length (m)
+     * @param startAngle Current angle (deg)
+     * @param goalLength Target length (m)
+     * @param goalAngle Target angle (deg)
+     */
+    public void plan(double startLength, double startAngle, double goalLength, double goalAngle) {
+        extender.configure(startLength, goalLength,
+            armSpeeds.getExtenderMaxVelocity(), armSpeeds.getExtenderMaxAcceleration());
+        rotator.configure(startAngle, goalAngle,
+            armSpeeds.getRotatorMaxVelocity(), armSpeeds.getRotatorMaxAcceleration());
+
+        double extenderTime = extender.getMinDuration();
+        double rotatorTime = rotator.getMinDuration();
+
+        // Coordinated: both axes finish together
+        totalTime = Math.max(extenderTime, rotatorTime);
+        extender.schedule(0, totalTime);
+        rotator.schedule(0, totalTime);
+        if (isClear() || isInKeepOut(extender.start, rotator.start) || isInKeepOut(extender.goal, rotator.goal)) {
+            // Nothing to plan around if either end is already inside the keep-out
+            return;
+        }
+
+        // Hold one axis back until the path is clear of the keep-out
+        for (double delay = DELAY_STEP; delay < rotatorTime + extenderTime; delay += DELAY_STEP) {
+            totalTime = Math.max(rotatorTime, delay + extenderTime);
+            extender.schedule(delay, totalTime - delay);
+            rotator.schedule(0, totalTime);
+            if (isClear()) return;
+
+            totalTime = Math.max(extenderTime, delay + rotatorTime);
+            rotator.schedule(delay, totalTime - delay);
+            extender.schedule(0, totalTime);
+            if (isClear()) return;
+        }
+
+        // Fully sequential, rotate then extend
+        totalTime = rotatorTime + extenderTime;
+        rotator.schedule(0, rotatorTime);
+        extender.schedule(rotatorTime, extenderTime);
+    }
+
+    private boolean isClear() {
+        for (int i = 0; i <= KEEP_OUT_CHECKS; i++) {
+            sample(totalTime * i / KEEP_OUT_CHECKS);
+            if (isInKeepOut(extender.position, rotator.position)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Updates the sampled length/angle/velocities
+     * @param time Seconds since the move started
+     */
+    public void sample(double time) {
+        extender.sample(time);
+        rotator.sample(time);
+    }
+
+    public static boolean isInKeepOut(double length, double angle) {
+        return length > KEEP_OUT_MAX_LENGTH && angle < KEEP_OUT_MIN_ANGLE_DEG;
+    }
+
+    public double getTotalTime() {
+        return totalTime;
+    }
+
+    public boolean isFinished(double time) {
+        return time >= totalTime;
+    }
+
+    public double getLength() {
+        return extender.position;
+    }
+
+    public double getLengthVelocity() {
+        return extender.velocity;
+    }
+
+    public double getAngle() {
+        return rotator.position;
+    }
+
+    public double getAngleVelocity() {
+        return rotator.velocity;
+    }
+
+    /**
+     * Trapezoid profile for a single axis, stretched to a given duration
+     */
+    private static class Axis {
+        private double start;
+        private double goal;
+        private double direction;
+        private double distance;
+        private double maxVelocity;
+        private double acceleration;
+
+        private double delay;
+        private double duration;
+        private double cruiseVelocity;
+        private double accelTime;
+
+        private double position;
+        private double velocity;
+
+        private void configure(double start, double goal, double maxVelocity, double acceleration) {
+            this.start = start;
+            this.maxVelocity = maxVelocity;
+            this.acceleration = acceleration;
+            // Neutral axis holds where it is
+            this.goal = maxVelocity == 0 ? start : goal;
+            this.direction = Math.signum(this.goal - start);
+            this.distance = Math.abs(this.goal - start);
+        }
+
+        private double getMinDuration() {
+            if (distance == 0) return 0;
+            if (distance >= maxVelocity * maxVelocity / acceleration) {
+                return distance / maxVelocity + maxVelocity / acceleration;
+            }
+            return 2 * Math.sqrt(distance / acceleration);
+        }
+
+        /**
+         * @param delay Time before this axis starts moving
+         * @param duration Time to move, at least {@link #getMinDuration()}
+         */
+        private void schedule(double delay, double duration) {
+            this.delay = delay;
+            this.duration = duration;
+            if (distance == 0 || duration <= 0) {
+                cruiseVelocity = 0;
+                accelTime = 0;
+                return;
+            }
+            // Solve duration = distance / v + v / a for the slowest cruise velocity
+            double a = acceleration;
+            double discriminant = Math.max(0, a * a * duration * duration - 4 * a * distance);
+            cruiseVelocity = Math.min(maxVelocity, (a * duration - Math.sqrt(discriminant)) / 2);
+            accelTime = cruiseVelocity / a;
+        }
+
+        private void sample(double time) {
+            double t = time - delay;
+            if (t <= 0 || distance == 0) {
+                position = start;
+                velocity = 0;
+            } else if (t >= duration) {
+                position = goal;
+                velocity = 0;
+            } else if (t < accelTime) {
+                position = start + direction * 0.5 * acceleration * t * t;
+                velocity = direction * acceleration * t;
+            } else if (t < duration - accelTime) {
+                position = start + direction * (0.5 * acceleration * accelTime * accelTime + cruiseVelocity * (t - accelTime));
+                velocity = direction * cruiseVelocity;
+            } else {
+                double remaining = duration - t;
+                position = goal - direction * 0.5 * acceleration * remaining * remaining;
+                velocity = direction * acceleration * remaining;
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.wpi.first.wpilibj.Timer;
+
+/**
+ * Records when each step of an auto starts and ends, and how far the robot was
+ * from the path while driving.
+ *
+ * Steps are marked by {@link frc.robot.commands.auto.AutoSequences}, path error
+ * is reported by {@link frc.robot.commands.drive.FollowTrajectory}.
+ */
+public class AutoStepLog {
+    private static AutoStepLog AUTO_STEP_LOG = null;
+
+    private final List<Step> steps = new ArrayList<>();
+    private Step currentStep = null;
+    private String autoName = "";
+    private double autoStart = 0;
+    private double autoEnd = Double.NaN;
+
+    private AutoStepLog() {}
+
+    /**
+     * Call when an auto is scheduled, clears the previous auto
+     */
+    public void startAuto(String name) {
+        steps.clear();
+        currentStep = null;
+        autoName = name;
+        autoStart = Timer.getFPGATimestamp();
+        autoEnd = Double.NaN;
+    }
+
+    /**
+     * Call when the last step has finished. Autos idle the drivetrain afterwards
+     * so the command itself never ends.
+     */
+    public void finishAuto() {
+        autoEnd = Timer.getFPGATimestamp();
+    }
+
+    public void startStep(String name) {
+        currentStep = new Step(name, Timer.getFPGATimestamp() - autoStart);
+        steps.add(currentStep);
+    }
+
+    public void endStep() {
+        if (currentStep != null) {
+            currentStep.end = Timer.getFPGATimestamp() - autoStart;
+            currentStep = null;
+        }
+    }
+
+    /**
+     * @param meters Distance from where the path says the robot should be
+     */
+    public void addTrackingError(double meters) {
+        if (currentStep == null) return;
+        currentStep.errorSamples++;
+        currentStep.errorSquaredSum += meters * meters;
+        currentStep.maxError = Math.max(currentStep.maxError, meters);
+    }
+
+    public String getAutoName() {
+        return autoName;
+    }
+
+    public boolean isFinished() {
+        return !Double.isNaN(autoEnd);
+    }
+
+    /**
+     * @return FPGA timestamp the auto started at
+     */
+    public double getStartTime() {
+        return autoStart;
+    }
+
+    /**
+     * @return Seconds from start to finish, or so far if still running
+     */
+    public double getTotalTime() {
+        return (isFinished() ? autoEnd : Timer.getFPGATimestamp()) - autoStart;
+    }
+
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    /**
+     * @return The single instance of AutoStepLog
+     */
+    public static AutoStepLog getInstance() {
+        // To ensure only one instance is created
+        if (AUTO_STEP_LOG == null) {
+            AUTO_STEP_LOG = new AutoStepLog();
+        }
+        return AUTO_STEP_LOG;
+    }
+
+    public static class Step {
+        private final String name;
+        private final double start;
+        private double end = Double.NaN;
+        private int errorSamples = 0;
+        private double errorSquaredSum = 0;
+        private double maxError = 0;
+
+        private Step(String name, double start) {
+            this.name = name;
+            this.start = start;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return Seconds since the auto started
+         */
+        public double getStart() {
+            return start;
+        }
+
+        /**
+         * @return Seconds the step ran, NaN if it never ended
+         */
+        public double getDuration() {
+            return end - start;
+        }
+
+        public boolean hasTrackingError() {
+            return errorSamples > 0;
+        }
+
+        public double getRmsError() {
+            return errorSamples == 0 ? 0 : Math.sqrt(errorSquaredSum / errorSamples);
+        }
+
+        public double getMaxError() {
+            return maxError;
+        }
+    }
+}
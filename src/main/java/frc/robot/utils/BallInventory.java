@@ -0,0 +1,262 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utils;
+
+import com.revrobotics.ColorSensorV3.RawColor;
+
+import edu.wpi.first.wpilibj.Timer;
+import frc.robot.RobotContainer;
+
+import static frc.robot.Constants.LoaderConstants.*;
+
+/**
+ * Keeps track of how many balls are on board, where they are and what color
+ * they are.
+ *
+ * There is one color sensor, between the indexer and the loader, so a ball is
+ * only counted once it reaches it. Which way the belts run on the sensor's
+ * edges says where a ball went: up into the loader, or back out the intake.
+ * {@link frc.robot.subsystems.ShooterSubsystem} reports each shot, which takes
+ * the top ball.
+ *
+ * Fed by the intake, loader and shooter periodic(), commands only read it.
+ */
+public class BallInventory {
+    private static BallInventory BALL_INVENTORY = null;
+
+    public static final int MAX_BALLS = 2;
+    private static final double EJECT_CLEAR_TIME = 1; // s of everything reversing to empty the robot
+    private static final double EMPTY_CONFIRM_TIME = 0.75; // s, long enough for a lower ball to reach the sensor
+
+    public enum BallColor {
+        Red,
+        Blue,
+        Unknown
+    }
+
+    public enum Slot {
+        /** At the color sensor, top of the indexer */
+        Sensor,
+        /** Past the sensor, waiting for the shooter */
+        Loader
+    }
+
+    // Top ball first
+    private final Ball[] balls = { new Ball(), new Ball() };
+    private int ballCount = 0;
+    private boolean wasAtSensor = false;
+    private double loaderPercent = 0;
+    private double reverseStart = Double.NaN;
+    private double emptySince = 0;
+    private double lastShotTime = Double.NaN;
+
+    private BallInventory() {}
+
+    /**
+     * Call from the intake's periodic
+     * @param atSensor Color sensor proximity is over the threshold
+     * @param color Color sensor reading, only used while atSensor
+     * @param intakePercent Intake roller output
+     * @param indexerPercent Indexer belt output
+     */
+    public void update(boolean atSensor, RawColor color, double intakePercent, double indexerPercent) {
+        double now = Timer.getFPGATimestamp();
+
+        if (atSensor && !wasAtSensor) {
+            Ball returning = loaderPercent < 0 ? find(Slot.Loader) : null;
+            if (returning != null) {
+                // Backed down out of the loader
+                returning.slot = Slot.Sensor;
+                returning.slotTime = now;
+            } else if (ballCount < MAX_BALLS) {
+                add(Slot.Sensor, BallColor.Unknown, now);
+            }
+        }
+
+        Ball atSensorBall = find(Slot.Sensor);
+        if (atSensor && atSensorBall != null && atSensorBall.color == BallColor.Unknown) {
+            atSensorBall.color = classify(color);
+        }
+
+        if (!atSensor && wasAtSensor && atSensorBall != null) {
+            if (loaderPercent > 0) {
+                atSensorBall.slot = Slot.Loader;
+                atSensorBall.slotTime = now;
+            } else if (indexerPercent < 0 || intakePercent < 0) {
+                remove(atSensorBall);
+            }
+            // Otherwise the ball hasn't gone anywhere, the reading just dipped
+        }
+        wasAtSensor = atSensor;
+
+        // Everything running backwards long enough spits out whatever wasn't seen leaving
+        if (intakePercent < 0 && indexerPercent < 0 && loaderPercent < 0 && !atSensor) {
+            if (Double.isNaN(reverseStart)) reverseStart = now;
+            if (now - reverseStart > EJECT_CLEAR_TIME) ballCount = 0;
+        } else {
+            reverseStart = Double.NaN;
+        }
+
+        if (ballCount > 0) emptySince = now;
+    }
+
+    /**
+     * Call from the loader's periodic
+     */
+    public void setLoaderPercent(double percent) {
+        loaderPercent = percent;
+    }
+
+    /**
+     * Call when a ball leaves the shooter, takes the top ball
+     */
+    public void onShot() {
+        lastShotTime = Timer.getFPGATimestamp();
+        if (ballCount > 0) remove(balls[0]);
+    }
+
+    /**
+     * @param preloaded Balls sitting in the loader, e.g. at the start of auto
+     */
+    public void reset(int preloaded) {
+        ballCount = 0;
+        double now = Timer.getFPGATimestamp();
+        for (int i = 0; i < Math.min(preloaded, MAX_BALLS); i++) {
+            // Preloads are always ours
+            add(Slot.Loader, RobotContainer.getTeamColor() ? BallColor.Red : BallColor.Blue, now);
+        }
+        emptySince = now;
+        wasAtSensor = false;
+        reverseStart = Double.NaN;
+    }
+
+    public int getBallCount() {
+        return ballCount;
+    }
+
+    public boolean isEmpty() {
+        return ballCount == 0;
+    }
+
+    /**
+     * Empty for long enough that a ball below the sensor would have shown up,
+     * use to end shooting
+     */
+    public boolean isConfirmedEmpty() {
+        return ballCount == 0 && Timer.getFPGATimestamp() - emptySince > EMPTY_CONFIRM_TIME;
+    }
+
+    /**
+     * @param index 0 for the top ball
+     */
+    public Ball getBall(int index) {
+        return balls[index];
+    }
+
+    /**
+     * @return True if the ball at the sensor is known to be the other alliance's
+     */
+    public boolean isOpponentBallAtSensor() {
+        Ball ball = find(Slot.Sensor);
+        return ball != null && ball.isOpponent();
+    }
+
+    /**
+     * @param timestamp FPGA timestamp, e.g. when shooting started
+     * @return True if a ball has left the shooter since then
+     */
+    public boolean hasShotSince(double timestamp) {
+        return !Double.isNaN(lastShotTime) && lastShotTime >= timestamp;
+    }
+
+    /**
+     * @return FPGA timestamp of the last shot, NaN if none
+     */
+    public double getLastShotTime() {
+        return lastShotTime;
+    }
+
+    private void add(Slot slot, BallColor color, double now) {
+        // New balls come in below the others
+        Ball ball = balls[ballCount++];
+        ball.slot = slot;
+        ball.color = color;
+        ball.seenTime = now;
+        ball.slotTime = now;
+    }
+
+    private void remove(Ball ball) {
+        // Shift the ones below up, keep the objects so nothing is allocated
+        int index = ball == balls[0] ? 0 : 1;
+        for (int i = index; i < ballCount - 1; i++) {
+            balls[i].copy(balls[i + 1]);
+        }
+        ballCount--;
+    }
+
+    private Ball find(Slot slot) {
+        for (int i = 0; i < ballCount; i++) {
+            if (balls[i].slot == slot) return balls[i];
+        }
+        return null;
+    }
+
+    private static BallColor classify(RawColor color) {
+        if (RED.colorMatch(color)) return BallColor.Red;
+        if (BLUE.colorMatch(color)) return BallColor.Blue;
+        return BallColor.Unknown;
+    }
+
+    /**
+     * @return The single instance of BallInventory
+     */
+    public static BallInventory getInstance() {
+        // To ensure only one instance is created
+        if (BALL_INVENTORY == null) {
+            BALL_INVENTORY = new BallInventory();
+        }
+        return BALL_INVENTORY;
+    }
+
+    public static class Ball {
+        private Slot slot = Slot.Sensor;
+        private BallColor color = BallColor.Unknown;
+        private double seenTime = 0;
+        private double slotTime = 0;
+
+        private void copy(Ball other) {
+            slot = other.slot;
+            color = other.color;
+            seenTime = other.seenTime;
+            slotTime = other.slotTime;
+        }
+
+        public Slot getSlot() {
+            return slot;
+        }
+
+        public BallColor getColor() {
+            return color;
+        }
+
+        public boolean isOpponent() {
+            return color == (RobotContainer.getTeamColor() ? BallColor.Blue : BallColor.Red);
+        }
+
+        /**
+         * @return FPGA timestamp the ball first reached the color sensor
+         */
+        public double getSeenTime() {
+            return seenTime;
+        }
+
+        /**
+         * @return FPGA timestamp the ball got to its current slot
+         */
+        public double getSlotTime() {
+            return slotTime;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.wpi.first.wpilibj.Timer;
+
+import static frc.robot.Constants.SimConstants.*;
+
+/**
+ * Simulation only. Tracks where each ball is along the path from the intake to
+ * the shooter.
+ *
+ * The path is split into intake, indexer and loader sections, and a ball moves
+ * at the belt speed of whichever section it is in. Balls can't pass each other.
+ * A ball leaving the top of the loader counts as a shot, the shooter takes
+ * that as a hit to its flywheel speed. The intake reads the color sensor from
+ * here.
+ *
+ * There is no field, so while the intake runs forward a new ball is picked up
+ * every {@link frc.robot.Constants.SimConstants#BALL_PICKUP_TIME}.
+ */
+public class BallSim {
+    private static BallSim BALL_SIM = null;
+
+    private static final int MAX_BALLS = 2;
+
+    private final double[] positions = new double[MAX_BALLS]; // m from the intake, lowest first
+    private int ballCount = 0;
+    private double intakeSpeed = 0;
+    private double indexerSpeed = 0;
+    private double loaderSpeed = 0;
+    private double pickupTime = 0;
+    private int pendingShots = 0;
+    private final List<Double> shotTimes = new ArrayList<>();
+
+    private BallSim() {}
+
+    /**
+     * @param percent Intake roller output
+     */
+    public void setIntakeSpeed(double percent) {
+        intakeSpeed = percent * BELT_SPEED;
+    }
+
+    /**
+     * @param percent Indexer belt output
+     */
+    public void setIndexerSpeed(double percent) {
+        indexerSpeed = percent * BELT_SPEED;
+    }
+
+    /**
+     * @param percent Loader output
+     */
+    public void setLoaderSpeed(double percent) {
+        loaderSpeed = percent * BELT_SPEED;
+    }
+
+    /**
+     * Moves the balls, call once per loop
+     */
+    public void update(double dtSeconds) {
+        // Pick up a new ball after the intake has run long enough
+        if (intakeSpeed > 0 && ballCount < MAX_BALLS
+                && (ballCount == 0 || positions[0] > BALL_DIAMETER)) {
+            pickupTime += dtSeconds;
+            if (pickupTime >= BALL_PICKUP_TIME) {
+                pickupTime = 0;
+                System.arraycopy(positions, 0, positions, 1, ballCount);
+                positions[0] = 0;
+                ballCount++;
+            }
+        } else {
+            pickupTime = 0;
+        }
+
+        // Top ball first so the ones below can close up behind it
+        for (int i = ballCount - 1; i >= 0; i--) {
+            double next = positions[i] + speedAt(positions[i]) * dtSeconds;
+            if (i < ballCount - 1) {
+                next = Math.min(next, positions[i + 1] - BALL_DIAMETER);
+            }
+            if (i > 0) {
+                next = Math.max(next, positions[i - 1] + BALL_DIAMETER);
+            }
+            positions[i] = next;
+        }
+
+        // Shot out the top
+        while (ballCount > 0 && positions[ballCount - 1] >= SHOOTER_POSITION) {
+            ballCount--;
+            pendingShots++;
+            shotTimes.add(Timer.getFPGATimestamp());
+        }
+        // Spat out the front
+        while (ballCount > 0 && positions[0] < 0) {
+            System.arraycopy(positions, 1, positions, 0, --ballCount);
+        }
+    }
+
+    private double speedAt(double position) {
+        if (position < INDEXER_POSITION) return intakeSpeed;
+        if (position < LOADER_POSITION) return indexerSpeed;
+        return loaderSpeed;
+    }
+
+    public boolean isBallAtColorSensor() {
+        for (int i = 0; i < ballCount; i++) {
+            if (Math.abs(positions[i] - COLOR_SENSOR_POSITION) < BALL_DIAMETER / 2) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return Balls shot since the last call
+     */
+    public int takeShots() {
+        int shots = pendingShots;
+        pendingShots = 0;
+        return shots;
+    }
+
+    /**
+     * @return FPGA timestamps of every shot since the last reset
+     */
+    public List<Double> getShotTimes() {
+        return shotTimes;
+    }
+
+    public int getBallCount() {
+        return ballCount;
+    }
+
+    /**
+     * @param preloaded Balls to start with, sitting at the top of the indexer
+     */
+    public void reset(int preloaded) {
+        ballCount = Math.min(preloaded, MAX_BALLS);
+        for (int i = 0; i < ballCount; i++) {
+            positions[i] = LOADER_POSITION - BALL_DIAMETER * (ballCount - i);
+        }
+        pickupTime = 0;
+        pendingShots = 0;
+        shotTimes.clear();
+    }
+
+    /**
+     * @return The single instance of BallSim
+     */
+    public static BallSim getInstance() {
+        // To ensure only one instance is created
+        if (BALL_SIM == null) {
+            BALL_SIM = new BallSim();
+        }
+        return BALL_SIM;
+    }
+}
@@ -0,0 +1,51 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utils;
+
+import static frc.robot.Constants.LoaderConstants.*;
+
+/**
+ * Belt speeds for feeding balls to the shooter, chosen so shots come out a set
+ * distance apart.
+ *
+ * Queued balls touch. Once the top one is in the loader, the one behind has to
+ * move one ball diameter on the indexer to follow it, so the indexer runs at
+ * loaderSpeed * diameter / spacing and every ball enters the loader the same
+ * time after the last.
+ */
+public class FeedProfile {
+    private final double loaderSpeed;
+    private final double ballSpacing;
+
+    /**
+     * @param loaderSpeed m/s
+     * @param ballSpacing m between ball centers in the loader, at least a ball diameter
+     */
+    public FeedProfile(double loaderSpeed, double ballSpacing) {
+        this.loaderSpeed = loaderSpeed;
+        this.ballSpacing = Math.max(ballSpacing, BALL_DIAMETER);
+    }
+
+    /**
+     * @return m/s
+     */
+    public double getLoaderSpeed() {
+        return loaderSpeed;
+    }
+
+    /**
+     * @return m/s
+     */
+    public double getIndexerSpeed() {
+        return loaderSpeed * BALL_DIAMETER / ballSpacing;
+    }
+
+    /**
+     * @return Seconds between shots
+     */
+    public double getShotInterval() {
+        return ballSpacing / loaderSpeed;
+    }
+}
@@ -0,0 +1,116 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Records one subsystem's {@link LoggableInputs} under "Inputs/[name]/", or
+ * overwrites them with logged values while replaying.
+ *
+ * Call {@link #process} right after the IO fills its inputs, before anything
+ * reads them.
+ *
+ * What the subsystem commands goes under "Outputs/[name]/" through
+ * {@link #putOutput}. While replaying those are kept for
+ * MatchReplay (src/tools) to compare against the log instead.
+ */
+public class InputsTable {
+    private static Map<String, Double> replayValues = null;
+    private static final Map<String, Double> replayOutputs = new HashMap<>();
+    private final String prefix;
+    private final String outputPrefix;
+    private final boolean muted;
+    // Keyed without the prefix so logging doesn't build a string every loop
+    private final Map<String, Integer> channels = new HashMap<>();
+    private final Map<String, Integer> outputChannels = new HashMap<>();
+
+    /**
+     * @param name Subsystem name, e.g. "Drive"
+     */
+    public InputsTable(String name) {
+        this(name, false);
+    }
+
+    /**
+     * @param muted Ignore everything, for subsystems that only exist to run
+     *              code (see {@link frc.robot.WarmUp})
+     */
+    public InputsTable(String name, boolean muted) {
+        this.prefix = "Inputs/" + name + "/";
+        this.outputPrefix = "Outputs/" + name + "/";
+        this.muted = muted;
+    }
+
+    /**
+     * Replace every subsystem's inputs with logged values from now on
+     * @param values Values for the current loop by channel name, updated in place each loop
+     */
+    public static void startReplay(Map<String, Double> values) {
+        replayValues = values;
+    }
+
+    public static boolean isReplay() {
+        return replayValues != null;
+    }
+
+    /**
+     * @return Outputs recomputed while replaying, by channel name. Clear after each loop.
+     */
+    public static Map<String, Double> getReplayOutputs() {
+        return replayOutputs;
+    }
+
+    public void process(LoggableInputs inputs) {
+        if (muted) return;
+        if (isReplay()) {
+            inputs.fromLog(this);
+        } else if (Logging.binary) {
+            inputs.toLog(this);
+        }
+    }
+
+    public void put(String key, double value) {
+        log(channels, prefix, key, value);
+    }
+
+    public void put(String key, boolean value) {
+        put(key, value ? 1 : 0);
+    }
+
+    /**
+     * Record something sent to the hardware, e.g. motor volts
+     */
+    public void putOutput(String key, double value) {
+        if (muted) return;
+        if (isReplay()) {
+            replayOutputs.put(outputPrefix + key, value);
+        } else if (Logging.binary) {
+            log(outputChannels, outputPrefix, key, value);
+        }
+    }
+
+    private static void log(Map<String, Integer> channels, String prefix, String key, double value) {
+        Integer channel = channels.get(key);
+        if (channel == null) {
+            channel = TelemetryLog.getInstance().addChannel(prefix + key);
+            channels.put(key, channel);
+        }
+        TelemetryLog.getInstance().log(channel, value);
+    }
+
+    /**
+     * @return Logged value this loop, or the default if it wasn't logged
+     */
+    public double get(String key, double defaultValue) {
+        Double value = replayValues.get(prefix + key);
+        return value == null ? defaultValue : value;
+    }
+
+    public boolean get(String key, boolean defaultValue) {
+        return get(key, defaultValue ? 1 : 0) != 0;
+    }
+}
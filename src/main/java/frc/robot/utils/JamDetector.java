@@ -0,0 +1,81 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utils;
+
+import edu.wpi.first.wpilibj.Timer;
+
+import static frc.robot.Constants.JamConstants.*;
+
+/**
+ * Watches one open loop mechanism for a jam (driven, drawing current, not
+ * moving) and backs it off for a moment when it sees one.
+ *
+ * Feed it every loop with {@link #update}, and pass every output through
+ * {@link #filter} so the reverse pulse replaces whatever a command asks for.
+ */
+public class JamDetector {
+    private final double stallCurrent;
+    private final double stallVelocity;
+
+    private int stalledLoops = 0;
+    private boolean unjamming = false;
+    private double unjamStart = Double.NEGATIVE_INFINITY;
+    private int jamCount = 0;
+
+    /**
+     * @param stallCurrent Stator amps over which a motor that isn't moving is jammed
+     * @param stallVelocity Clicks per 100ms under which the motor isn't moving
+     */
+    public JamDetector(double stallCurrent, double stallVelocity) {
+        this.stallCurrent = stallCurrent;
+        this.stallVelocity = stallVelocity;
+    }
+
+    /**
+     * Call once per loop
+     * @param outputPercent Applied output, 0 if the motor is meant to be stalled
+     * @param statorCurrent Amps
+     * @param velocity Clicks per 100ms
+     */
+    public void update(double outputPercent, double statorCurrent, double velocity) {
+        double now = Timer.getFPGATimestamp();
+        if (unjamming) {
+            if (now - unjamStart < UNJAM_TIME) return;
+            unjamming = false;
+            stalledLoops = 0;
+        }
+
+        boolean stalled = Math.abs(outputPercent) > JAM_MIN_OUTPUT
+                && statorCurrent > stallCurrent && Math.abs(velocity) < stallVelocity;
+        stalledLoops = stalled ? stalledLoops + 1 : 0;
+
+        // Stalled the whole window, and not straight after the last pulse
+        if (stalledLoops >= JAM_WINDOW_LOOPS && now - unjamStart > UNJAM_TIME + UNJAM_COOLDOWN) {
+            unjamming = true;
+            unjamStart = now;
+            jamCount++;
+        }
+    }
+
+    /**
+     * @param percent What the command wants
+     * @return A short reverse pulse while unjamming, otherwise percent
+     */
+    public double filter(double percent) {
+        if (!unjamming || percent == 0) return percent;
+        return -Math.signum(percent) * UNJAM_PERCENT;
+    }
+
+    public boolean isUnjamming() {
+        return unjamming;
+    }
+
+    /**
+     * @return Jams seen since startup
+     */
+    public int getJamCount() {
+        return jamCount;
+    }
+}
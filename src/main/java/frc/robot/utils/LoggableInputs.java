@@ -0,0 +1,15 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utils;
+
+/**
+ * Sensor values a subsystem's IO reads once per loop. Recorded to the
+ * {@link TelemetryLog} on the robot, and read back from a log when replaying.
+ */
+public interface LoggableInputs {
+    void toLog(InputsTable table);
+
+    void fromLog(InputsTable table);
+}
@@ -7,4 +7,8 @@ public class Logging {
     public static boolean intake = false;
     public static boolean loader = false;
     public static boolean shooter = false;
+    // Binary on-robot log, cheap enough to leave on in matches
+    public static boolean binary = true;
+    // Loop timing histograms, see LoopProfiler
+    public static boolean timing = true;
 }
@@ -0,0 +1,220 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+
+/**
+ * Records how long each subsystem periodic(), command execute() and robot loop
+ * section takes into fixed-bucket histograms.
+ *
+ * p50/p99/max are published to SmartDashboard about once a second, and the
+ * slowest sections of a loop are printed whenever that loop overruns.
+ *
+ * Command times are measured between scheduler callbacks, starting from a
+ * mark set once subsystems and buttons have run, so {@link #attach} has to be
+ * called after every button is bound.
+ */
+public class LoopProfiler {
+    private static LoopProfiler LOOP_PROFILER = null;
+
+    private static final int MAX_SECTIONS = 64;
+    private static final int BUCKETS = 250;
+    private static final long BUCKET_NANOS = 100_000; // 0.1 ms, 25 ms range
+    private static final int PUBLISH_PERIOD_LOOPS = 50;
+    private static final int WORST_OFFENDERS = 5;
+    // Last slot, shared by every section added once the rest are used
+    private static final int OVERFLOW_SECTION = MAX_SECTIONS - 1;
+
+    private final String[] names = new String[MAX_SECTIONS];
+    private final String[] p50Keys = new String[MAX_SECTIONS];
+    private final String[] p99Keys = new String[MAX_SECTIONS];
+    private final String[] maxKeys = new String[MAX_SECTIONS];
+    // Last bucket counts everything past the range
+    private final long[][] histograms = new long[MAX_SECTIONS][BUCKETS + 1];
+    private final long[] counts = new long[MAX_SECTIONS];
+    private final long[] maxNanos = new long[MAX_SECTIONS];
+    private final long[] lastNanos = new long[MAX_SECTIONS];
+    // Sections that contain others, e.g. the whole loop, left out of the slowest list
+    private final boolean[] aggregate = new boolean[MAX_SECTIONS];
+    private int sectionCount = 0;
+
+    private final Map<Command, Integer> commandSections = new HashMap<>();
+    private long commandMark;
+    private int loopsSincePublish = 0;
+
+    private LoopProfiler() {
+        setName(OVERFLOW_SECTION, "Other sections (over " + (MAX_SECTIONS - 1) + ")");
+    }
+
+    /**
+     * Records command execute() times. Call once at startup, after all button
+     * bindings, buttons run in the order they were added.
+     */
+    public void attach(CommandScheduler scheduler) {
+        // The scheduler polls buttons after subsystem periodic(), right before commands execute
+        scheduler.addButton(() -> commandMark = System.nanoTime());
+        scheduler.onCommandInitialize((command) -> commandMark = System.nanoTime());
+        scheduler.onCommandExecute(this::recordCommand);
+        scheduler.onCommandFinish((command) -> commandMark = System.nanoTime());
+        scheduler.onCommandInterrupt((command) -> commandMark = System.nanoTime());
+    }
+
+    /**
+     * @param name Shown on SmartDashboard under LoopTiming/, adding a name
+     *             twice returns the same section
+     * @return Section id to pass to {@link #record}
+     */
+    public int addSection(String name) {
+        for (int i = 0; i < sectionCount; i++) {
+            if (names[i].equals(name)) return i;
+        }
+        if (sectionCount >= OVERFLOW_SECTION) {
+            // Out of space, fold everything else into the overflow section
+            return OVERFLOW_SECTION;
+        }
+        setName(sectionCount, name);
+        return sectionCount++;
+    }
+
+    /**
+     * For sections that time other sections, e.g. the whole loop. Published,
+     * but not listed among the slowest sections of an overrun.
+     */
+    public int addAggregateSection(String name) {
+        int section = addSection(name);
+        if (section != OVERFLOW_SECTION) aggregate[section] = true;
+        return section;
+    }
+
+    private void setName(int section, String name) {
+        names[section] = name;
+        p50Keys[section] = "LoopTiming/" + name + "/p50";
+        p99Keys[section] = "LoopTiming/" + name + "/p99";
+        maxKeys[section] = "LoopTiming/" + name + "/max";
+    }
+
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * @param section Id from {@link #addSection}
+     * @param startNanos Value from {@link #start()}
+     */
+    public void record(int section, long startNanos) {
+        long duration = System.nanoTime() - startNanos;
+        int bucket = (int) Math.min(duration / BUCKET_NANOS, BUCKETS);
+        histograms[section][bucket]++;
+        counts[section]++;
+        lastNanos[section] += duration;
+        if (duration > maxNanos[section]) {
+            maxNanos[section] = duration;
+        }
+    }
+
+    private void recordCommand(Command command) {
+        Integer section = commandSections.get(command);
+        if (section == null) {
+            section = addSection("Command/" + command.getName());
+            commandSections.put(command, section);
+        }
+        record(section, commandMark);
+        commandMark = System.nanoTime();
+    }
+
+    /**
+     * Call at the start of robotPeriodic
+     */
+    public void startLoop() {
+        Arrays.fill(lastNanos, 0);
+    }
+
+    /**
+     * Call at the end of robotPeriodic
+     * @param loopSection Section timing the whole loop
+     * @param periodSeconds Robot loop period
+     */
+    public void endLoop(int loopSection, double periodSeconds) {
+        if (lastNanos[loopSection] > periodSeconds * 1e9) {
+            printWorstOffenders();
+        }
+        if (++loopsSincePublish >= PUBLISH_PERIOD_LOOPS) {
+            loopsSincePublish = 0;
+            publish();
+        }
+    }
+
+    private void publish() {
+        for (int i = 0; i < MAX_SECTIONS; i++) {
+            if (counts[i] == 0) continue;
+            SmartDashboard.putNumber(p50Keys[i], getPercentileMillis(i, 0.5));
+            SmartDashboard.putNumber(p99Keys[i], getPercentileMillis(i, 0.99));
+            SmartDashboard.putNumber(maxKeys[i], maxNanos[i] / 1e6);
+        }
+    }
+
+    /**
+     * @return Upper edge of the bucket holding the given percentile (ms)
+     */
+    public double getPercentileMillis(int section, double percentile) {
+        long target = (long) Math.ceil(counts[section] * percentile);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += histograms[section][bucket];
+            if (seen >= target) {
+                return (bucket + 1) * BUCKET_NANOS / 1e6;
+            }
+        }
+        return maxNanos[section] / 1e6;
+    }
+
+    private void printWorstOffenders() {
+        // Only runs on an overrun, allocation is fine here
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < MAX_SECTIONS; i++) {
+            if (names[i] != null && !aggregate[i]) order.add(i);
+        }
+        order.sort((a, b) -> Long.compare(lastNanos[b], lastNanos[a]));
+
+        StringBuilder message = new StringBuilder("Loop overrun, slowest sections:");
+        for (int i = 0; i < Math.min(WORST_OFFENDERS, order.size()) && lastNanos[order.get(i)] > 0; i++) {
+            message.append("\n  ").append(names[order.get(i)]).append(": ")
+                    .append(String.format("%.2f", lastNanos[order.get(i)] / 1e6)).append(" ms");
+        }
+        DriverStation.reportWarning(message.toString(), false);
+    }
+
+    /**
+     * Clear all histograms, e.g. at the start of a match
+     */
+    public void reset() {
+        for (long[] histogram : histograms) {
+            Arrays.fill(histogram, 0);
+        }
+        Arrays.fill(counts, 0);
+        Arrays.fill(maxNanos, 0);
+    }
+
+    /**
+     * @return The single instance of LoopProfiler
+     */
+    public static LoopProfiler getInstance() {
+        // To ensure only one instance is created
+        if (LOOP_PROFILER == null) {
+            LOOP_PROFILER = new LoopProfiler();
+        }
+        return LOOP_PROFILER;
+    }
+}
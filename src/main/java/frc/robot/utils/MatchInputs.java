@@ -0,0 +1,197 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utils;
+
+import edu.wpi.first.hal.AllianceStationID;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.DriverStation.Alliance;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+
+import static frc.robot.Constants.JoystickConstants.*;
+
+/**
+ * Everything the robot reads that doesn't belong to a subsystem: driver
+ * station mode, the driver's controller, and the vision and FMS values from
+ * NetworkTables.
+ *
+ * On the robot these are logged at the start of every loop. While replaying
+ * they are pushed back into the simulated driver station and the local
+ * NetworkTables, so the rest of the code reads them the usual way.
+ */
+public class MatchInputs implements LoggableInputs {
+    private static MatchInputs MATCH_INPUTS = null;
+
+    private static final int AXES = 6;
+    private static final int BUTTONS = 10;
+
+    private final InputsTable table = new InputsTable("Match");
+    private final String[] axisKeys = new String[AXES];
+
+    // Driver station
+    private boolean dsAttached = false;
+    private boolean enabled = false;
+    private boolean autonomous = false;
+    private boolean test = false;
+    private boolean redAlliance = false;
+    private double matchTime = -1;
+
+    // Driver controller
+    private final double[] axes = new double[AXES];
+    private int buttons = 0;
+    private int pov = -1;
+
+    // NetworkTables
+    private boolean networkTablesConnected = false;
+    private boolean fmsRedAlliance = false;
+    private boolean cameraConnected = false;
+    private boolean hasTarget = false;
+    private double targetPixelsX = 0;
+
+    private final NetworkTable photonvision;
+
+    private MatchInputs() {
+        for (int i = 0; i < AXES; i++) {
+            axisKeys[i] = "Axis" + i;
+        }
+        photonvision = NetworkTableInstance.getDefault().getTable("photonvision").getSubTable(Targeting.CAMERA_NAME);
+    }
+
+    /**
+     * Read and log everything, call at the start of each loop
+     */
+    public void record() {
+        dsAttached = DriverStation.isDSAttached();
+        enabled = DriverStation.isEnabled();
+        autonomous = DriverStation.isAutonomous();
+        test = DriverStation.isTest();
+        redAlliance = DriverStation.getAlliance() == Alliance.Red;
+        matchTime = DriverStation.getMatchTime();
+
+        // Only read what's plugged in, missing axes print a warning every loop
+        int axisCount = DriverStation.getStickAxisCount(MAIN_JOYSTICK);
+        for (int i = 0; i < AXES; i++) {
+            axes[i] = i < axisCount ? DriverStation.getStickAxis(MAIN_JOYSTICK, i) : 0;
+        }
+        buttons = DriverStation.getStickButtons(MAIN_JOYSTICK);
+        pov = DriverStation.getStickPOVCount(MAIN_JOYSTICK) > 0 ? DriverStation.getStickPOV(MAIN_JOYSTICK, 0) : -1;
+
+        networkTablesConnected = NetworkTableInstance.getDefault().isConnected();
+        fmsRedAlliance = NetworkTablesHelper.getBoolean("FMSInfo", "IsRedAlliance", false);
+        cameraConnected = Targeting.isConnected();
+        hasTarget = photonvision.getEntry("hasTarget").getBoolean(false);
+        targetPixelsX = photonvision.getEntry("targetPixelsX").getDouble(0);
+
+        table.process(this);
+    }
+
+    /**
+     * Load this loop's logged values and push them into the simulated driver
+     * station and NetworkTables. The driver station thread picks them up
+     * asynchronously, see {@link #isDriverStationUpdated}.
+     */
+    public void replay() {
+        table.process(this);
+
+        DriverStationSim.setDsAttached(dsAttached);
+        DriverStationSim.setEnabled(enabled);
+        DriverStationSim.setAutonomous(autonomous);
+        DriverStationSim.setTest(test);
+        DriverStationSim.setAllianceStationId(redAlliance ? AllianceStationID.Red1 : AllianceStationID.Blue1);
+        DriverStationSim.setMatchTime(matchTime);
+
+        DriverStationSim.setJoystickAxisCount(MAIN_JOYSTICK, AXES);
+        DriverStationSim.setJoystickButtonCount(MAIN_JOYSTICK, BUTTONS);
+        DriverStationSim.setJoystickPOVCount(MAIN_JOYSTICK, 1);
+        for (int i = 0; i < AXES; i++) {
+            DriverStationSim.setJoystickAxis(MAIN_JOYSTICK, i, axes[i]);
+        }
+        DriverStationSim.setJoystickButtons(MAIN_JOYSTICK, buttons);
+        DriverStationSim.setJoystickPOV(MAIN_JOYSTICK, 0, pov);
+        DriverStationSim.notifyNewData();
+
+        NetworkTableInstance.getDefault().getTable("FMSInfo").getEntry("IsRedAlliance").setBoolean(fmsRedAlliance);
+        NetworkTableInstance.getDefault().getTable("CameraPublisher").getSubTable(Targeting.CAMERA_NAME + "-output")
+                .getEntry("connected").setBoolean(cameraConnected);
+        photonvision.getEntry("hasTarget").setBoolean(hasTarget);
+        photonvision.getEntry("targetPixelsX").setDouble(targetPixelsX);
+    }
+
+    /**
+     * @return If the driver station has caught up with the last {@link #replay}
+     */
+    public boolean isDriverStationUpdated() {
+        if (DriverStation.isEnabled() != (enabled && dsAttached)
+                || DriverStation.isAutonomous() != autonomous
+                || DriverStation.getStickButtons(MAIN_JOYSTICK) != buttons
+                || DriverStation.getStickPOV(MAIN_JOYSTICK, 0) != pov) {
+            return false;
+        }
+        for (int i = 0; i < AXES; i++) {
+            if (DriverStation.getStickAxis(MAIN_JOYSTICK, i) != (float) axes[i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * NetworkTables can't be connected while replaying, so use this instead of
+     * asking NetworkTables directly
+     */
+    public boolean isNetworkTablesConnected() {
+        return InputsTable.isReplay() ? networkTablesConnected : NetworkTableInstance.getDefault().isConnected();
+    }
+
+    @Override
+    public void toLog(InputsTable table) {
+        table.put("DSAttached", dsAttached);
+        table.put("Enabled", enabled);
+        table.put("Autonomous", autonomous);
+        table.put("Test", test);
+        table.put("RedAlliance", redAlliance);
+        table.put("MatchTime", matchTime);
+        for (int i = 0; i < AXES; i++) {
+            table.put(axisKeys[i], axes[i]);
+        }
+        table.put("Buttons", buttons);
+        table.put("POV", pov);
+        table.put("NTConnected", networkTablesConnected);
+        table.put("FMSRedAlliance", fmsRedAlliance);
+        table.put("CameraConnected", cameraConnected);
+        table.put("HasTarget", hasTarget);
+        table.put("TargetPixelsX", targetPixelsX);
+    }
+
+    @Override
+    public void fromLog(InputsTable table) {
+        dsAttached = table.get("DSAttached", dsAttached);
+        enabled = table.get("Enabled", enabled);
+        autonomous = table.get("Autonomous", autonomous);
+        test = table.get("Test", test);
+        redAlliance = table.get("RedAlliance", redAlliance);
+        matchTime = table.get("MatchTime", matchTime);
+        for (int i = 0; i < AXES; i++) {
+            axes[i] = table.get(axisKeys[i], axes[i]);
+        }
+        buttons = (int) table.get("Buttons", buttons);
+        pov = (int) table.get("POV", pov);
+        networkTablesConnected = table.get("NTConnected", networkTablesConnected);
+        fmsRedAlliance = table.get("FMSRedAlliance", fmsRedAlliance);
+        cameraConnected = table.get("CameraConnected", cameraConnected);
+        hasTarget = table.get("HasTarget", hasTarget);
+        targetPixelsX = table.get("TargetPixelsX", targetPixelsX);
+    }
+
+    /**
+     * @return The single instance of MatchInputs
+     */
+    public static MatchInputs getInstance() {
+        // To ensure only one instance is created
+        if (MATCH_INPUTS == null) {
+            MATCH_INPUTS = new MatchInputs();
+        }
+        return MATCH_INPUTS;
+    }
+}
@@ -1,13 +1,29 @@
 package frc.robot.utils;
 
+import java.util.List;
+
+import edu.wpi.first.math.trajectory.Trajectory;
 import edu.wpi.first.wpilibj2.command.SequentialCommandGroup;
 
 public class NamedSequentialCommandGroup extends SequentialCommandGroup{
     private String name;
+    private List<Trajectory> trajectories = List.of();
     public NamedSequentialCommandGroup(SequentialCommandGroup sequentialCommandGroup, String name) {
         super(sequentialCommandGroup);
         this.name = name;
     }
+
+    /**
+     * @param trajectories Paths this auto follows
+     */
+    public NamedSequentialCommandGroup(SequentialCommandGroup sequentialCommandGroup, String name, List<Trajectory> trajectories) {
+        this(sequentialCommandGroup, name);
+        this.trajectories = trajectories;
+    }
+
+    public List<Trajectory> getTrajectories() {
+        return trajectories;
+    }
     @Override
     public String toString() {
         return name;
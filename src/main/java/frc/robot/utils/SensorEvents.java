@@ -0,0 +1,120 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import edu.wpi.first.wpilibj.Timer;
+
+/**
+ * Edges seen on driver inputs, handed to commands that subscribed.
+ *
+ * The state of each input is published once per loop, and an event is queued
+ * when it turns on. {@link #dispatch()} runs once per loop after every
+ * periodic() and before commands execute, so a command hears about an edge in
+ * the same loop it was read. Each event object is created up front and reused.
+ *
+ * Only add a type once a command subscribes to it. Things that are true for a
+ * while (a ball sitting at the sensor, an arm against its stop, wheels at
+ * speed) are read from the subsystem.
+ */
+public class SensorEvents {
+    private static SensorEvents SENSOR_EVENTS = null;
+
+    public enum Type {
+        /** The driver pressed proceed */
+        ProceedPressed
+    }
+
+    private static final Type[] TYPES = Type.values();
+
+    private final Event[] events = new Event[TYPES.length];
+    private final boolean[] levels = new boolean[TYPES.length];
+    private final boolean[] pending = new boolean[TYPES.length];
+    private final List<List<Consumer<Event>>> listeners = new ArrayList<>();
+
+    private SensorEvents() {
+        for (Type type : TYPES) {
+            events[type.ordinal()] = new Event(type);
+            listeners.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Call every loop with the current state, an event is queued when it
+     * turns on
+     */
+    public void publish(Type type, boolean level) {
+        int t = type.ordinal();
+        if (level && !levels[t]) {
+            events[t].timestamp = Timer.getFPGATimestamp();
+            pending[t] = true;
+        }
+        levels[t] = level;
+    }
+
+    /**
+     * Call listener with every event of this type until it unsubscribes. A
+     * command subscribes in initialize() and unsubscribes in end(), passing the
+     * same listener object both times.
+     */
+    public void subscribe(Type type, Consumer<Event> listener) {
+        listeners.get(type.ordinal()).add(listener);
+    }
+
+    /**
+     * Stop calling a listener added with {@link #subscribe}
+     */
+    public void unsubscribe(Type type, Consumer<Event> listener) {
+        listeners.get(type.ordinal()).remove(listener);
+    }
+
+    /**
+     * Hand every queued event to its listeners, once per loop
+     */
+    public void dispatch() {
+        for (int t = 0; t < TYPES.length; t++) {
+            if (!pending[t]) continue;
+            pending[t] = false;
+            List<Consumer<Event>> typeListeners = listeners.get(t);
+            for (int i = 0; i < typeListeners.size(); i++) {
+                typeListeners.get(i).accept(events[t]);
+            }
+        }
+    }
+
+    /**
+     * @return The single instance of SensorEvents
+     */
+    public static SensorEvents getInstance() {
+        // To ensure only one instance is created
+        if (SENSOR_EVENTS == null) {
+            SENSOR_EVENTS = new SensorEvents();
+        }
+        return SENSOR_EVENTS;
+    }
+
+    public static class Event {
+        private final Type type;
+        private double timestamp = 0;
+
+        private Event(Type type) {
+            this.type = type;
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        /**
+         * @return FPGA timestamp of the loop the edge was read in
+         */
+        public double getTimestamp() {
+            return timestamp;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent startup work (device configuration, path loading) at the
+ * same time instead of one after another. Most of it is waiting on CAN or the
+ * disk, so a few threads help even on the roboRIO's two cores.
+ *
+ * Submit everything, then {@link #join()} before anything that needs the
+ * results, and before robotInit returns. Work that has to stay on the robot
+ * thread (scheduler registration, Shuffleboard) can be timed with
+ * {@link #run} so it shows up in the timeline.
+ */
+public class StartupTasks {
+    private static final int THREADS = 4;
+
+    private final long start = System.nanoTime();
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "Startup " + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final List<Task<?>> tasks = new ArrayList<>();
+
+    /**
+     * Start work on a startup thread
+     * @param name Shown in the timeline
+     * @return Result, {@link Future#get()} blocks until it is ready
+     */
+    public synchronized <T> Future<T> submit(String name, Callable<T> work) {
+        Task<T> task = new Task<>(name, work);
+        task.future = executor.submit(task);
+        tasks.add(task);
+        return task.future;
+    }
+
+    /**
+     * Do work on the calling thread, recorded in the timeline
+     * @return What the work returned
+     */
+    public <T> T run(String name, Supplier<T> work) {
+        Task<T> task = new Task<>(name, work::get);
+        synchronized (this) {
+            tasks.add(task);
+        }
+        return task.call();
+    }
+
+    /**
+     * Waits for every submitted task. The threads are stopped afterwards.
+     * @throws RuntimeException If any task threw, after the rest have finished
+     */
+    public void join() {
+        RuntimeException failure = null;
+        for (Task<?> task : getTasks()) {
+            if (task.future == null) continue;
+            try {
+                task.future.get();
+            } catch (ExecutionException e) {
+                if (failure == null) failure = new RuntimeException("Startup task failed: " + task.name, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (failure == null) failure = new RuntimeException("Interrupted waiting for " + task.name, e);
+            }
+        }
+        executor.shutdown();
+        if (failure != null) throw failure;
+    }
+
+    /**
+     * Prints when each task started and how long it took, relative to when
+     * this was created
+     */
+    public void printTimeline() {
+        StringBuilder timeline = new StringBuilder("Startup timeline (ms):\n");
+        long end = start;
+        for (Task<?> task : getTasks()) {
+            timeline.append(String.format("  %-20s %-10s start %6.1f  took %6.1f\n", task.name, task.thread,
+                    (task.startNanos - start) / 1e6, (task.endNanos - task.startNanos) / 1e6));
+            end = Math.max(end, task.endNanos);
+        }
+        timeline.append(String.format("  total %.1f", (end - start) / 1e6));
+        System.out.println(timeline);
+    }
+
+    private synchronized List<Task<?>> getTasks() {
+        return new ArrayList<>(tasks);
+    }
+
+    private static class Task<T> implements Callable<T> {
+        private final String name;
+        private final Callable<T> work;
+        private Future<T> future = null;
+        private volatile String thread = "";
+        private volatile long startNanos = 0;
+        private volatile long endNanos = 0;
+
+        private Task(String name, Callable<T> work) {
+            this.name = name;
+            this.work = work;
+        }
+
+        @Override
+        public T call() {
+            thread = Thread.currentThread().getName();
+            startNanos = System.nanoTime();
+            try {
+                return work.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            } finally {
+                endNanos = System.nanoTime();
+            }
+        }
+    }
+}
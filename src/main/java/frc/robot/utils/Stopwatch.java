@@ -0,0 +1,45 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utils;
+
+import edu.wpi.first.wpilibj.Timer;
+
+/**
+ * Elapsed time for a command that gets scheduled over and over. Keep one as a
+ * final field and {@link #restart()} it in initialize() instead of creating a
+ * new Timer.
+ */
+public class Stopwatch {
+    private double startTime = Double.NaN;
+
+    /**
+     * Start timing from now, whether or not it was running
+     */
+    public void restart() {
+        startTime = Timer.getFPGATimestamp();
+    }
+
+    public void stop() {
+        startTime = Double.NaN;
+    }
+
+    public boolean isRunning() {
+        return !Double.isNaN(startTime);
+    }
+
+    /**
+     * @return Seconds since {@link #restart()}, 0 if stopped
+     */
+    public double get() {
+        return isRunning() ? Timer.getFPGATimestamp() - startTime : 0;
+    }
+
+    /**
+     * @return True if running for longer than seconds
+     */
+    public boolean hasElapsed(double seconds) {
+        return isRunning() && get() > seconds;
+    }
+}
@@ -0,0 +1,217 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.motorcontrol.NeutralMode;
+import com.ctre.phoenix.motorcontrol.StatusFrame;
+import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
+import com.ctre.phoenix.motorcontrol.StickyFaults;
+import com.ctre.phoenix.motorcontrol.can.WPI_TalonFX;
+
+import edu.wpi.first.wpilibj.RobotBase;
+
+/**
+ * Settings a Talon FX should have at startup, sent only if they changed.
+ *
+ * Each config is reduced to a fingerprint, and the fingerprint of what was
+ * last sent successfully to each Talon is kept on the roboRIO. If a Talon
+ * hasn't reset since (so it still has those settings) and the fingerprint
+ * matches, nothing is sent, which skips the CAN round trips when only the
+ * roboRIO reboots. Sticky faults are only cleared if there are any.
+ *
+ * Inversion isn't stored on the Talon, keep calling setInverted as usual.
+ * Neutral mode is sent every time, it costs no round trip and a Talon that
+ * was power cycled with the robot may not report its reset yet.
+ *
+ * Call {@link #save()} once every Talon has been configured. It prints how
+ * long configuring took, delete the stored fingerprints to compare a boot
+ * that sends everything against one that skips.
+ */
+public class TalonConfig {
+    private static final int TIMEOUT_MS = 50;
+    private static final String FILE = "/home/lvuser/talon_configs.properties";
+
+    // Fingerprints sent to each Talon, shared by every config
+    private static final Properties sent = new Properties();
+    private static boolean loaded = false;
+    private static boolean changed = false;
+    private static int skippedCount = 0;
+    private static int appliedCount = 0;
+    private static long applyNanos = 0;
+
+    private NeutralMode neutralMode = null;
+    private final Map<StatusFrame, Integer> statusFramePeriods = new LinkedHashMap<>();
+    private final Map<StatusFrameEnhanced, Integer> enhancedStatusFramePeriods = new LinkedHashMap<>();
+    private boolean clearStickyFaults = false;
+    private double kP = Double.NaN;
+    private double kF = Double.NaN;
+    private double voltageCompensation = Double.NaN;
+
+    public TalonConfig neutralMode(NeutralMode mode) {
+        neutralMode = mode;
+        return this;
+    }
+
+    public TalonConfig statusFramePeriod(StatusFrame frame, int periodMs) {
+        statusFramePeriods.put(frame, periodMs);
+        return this;
+    }
+
+    /**
+     * For Talon FX only frames, e.g. Status_Brushless_Current
+     */
+    public TalonConfig statusFramePeriod(StatusFrameEnhanced frame, int periodMs) {
+        enhancedStatusFramePeriods.put(frame, periodMs);
+        return this;
+    }
+
+    /**
+     * Slow general and feedback frames, for followers whose sensors aren't read
+     */
+    public TalonConfig slowStatusFrames() {
+        return statusFramePeriod(StatusFrame.Status_1_General, 255)
+                .statusFramePeriod(StatusFrame.Status_2_Feedback0, 255);
+    }
+
+    /**
+     * Slot 0 gains for velocity control on the Talon
+     * @param kP Output (1023 = full) per click per 100ms of error
+     * @param kF Output (1023 = full) per click per 100ms of setpoint
+     */
+    public TalonConfig velocityGains(double kP, double kF) {
+        this.kP = kP;
+        this.kF = kF;
+        return this;
+    }
+
+    /**
+     * Scale output so full output means this many volts at any battery voltage
+     */
+    public TalonConfig voltageCompensation(double volts) {
+        voltageCompensation = volts;
+        return this;
+    }
+
+    public TalonConfig clearStickyFaults() {
+        clearStickyFaults = true;
+        return this;
+    }
+
+    /**
+     * @return Changes whenever a setting does
+     */
+    public String fingerprint() {
+        StringBuilder settings = new StringBuilder("neutral=").append(neutralMode);
+        for (Map.Entry<StatusFrame, Integer> period : statusFramePeriods.entrySet()) {
+            settings.append(';').append(period.getKey()).append('=').append(period.getValue());
+        }
+        for (Map.Entry<StatusFrameEnhanced, Integer> period : enhancedStatusFramePeriods.entrySet()) {
+            settings.append(';').append(period.getKey()).append('=').append(period.getValue());
+        }
+        settings.append(";kP=").append(kP).append(";kF=").append(kF).append(";vComp=").append(voltageCompensation);
+        return Integer.toHexString(settings.toString().hashCode());
+    }
+
+    /**
+     * Send this config to a Talon unless it already has it. Safe to call from
+     * startup threads.
+     * @return The Talon, for use in field initializers
+     */
+    public WPI_TalonFX apply(WPI_TalonFX talon) {
+        long start = System.nanoTime();
+        if (neutralMode != null) {
+            talon.setNeutralMode(neutralMode);
+        }
+        if (clearStickyFaults) {
+            StickyFaults faults = new StickyFaults();
+            // Clear if there are faults, or if the Talon hasn't reported yet
+            if (talon.getStickyFaults(faults) != ErrorCode.OK || faults.hasAnyFault()) {
+                talon.clearStickyFaults();
+            }
+        }
+
+        String key = "talon" + talon.getDeviceID();
+        String fingerprint = fingerprint();
+        // Always check, it also clears the reset flag for next time
+        boolean reset = talon.hasResetOccurred();
+        synchronized (TalonConfig.class) {
+            load();
+            if (!reset && fingerprint.equals(sent.getProperty(key))) {
+                skippedCount++;
+                applyNanos += System.nanoTime() - start;
+                return talon;
+            }
+            // Forget it until the Talon confirms, so a failed send is retried next boot
+            if (sent.remove(key) != null) changed = true;
+        }
+
+        // Frame periods are sent without waiting, like they were before configs were skipped
+        boolean ok = true;
+        for (Map.Entry<StatusFrame, Integer> period : statusFramePeriods.entrySet()) {
+            ok &= talon.setStatusFramePeriod(period.getKey(), period.getValue()) == ErrorCode.OK;
+        }
+        for (Map.Entry<StatusFrameEnhanced, Integer> period : enhancedStatusFramePeriods.entrySet()) {
+            ok &= talon.setStatusFramePeriod(period.getKey(), period.getValue()) == ErrorCode.OK;
+        }
+        if (!Double.isNaN(kP)) {
+            ok &= talon.config_kP(0, kP, TIMEOUT_MS) == ErrorCode.OK;
+            ok &= talon.config_kF(0, kF, TIMEOUT_MS) == ErrorCode.OK;
+        }
+        if (!Double.isNaN(voltageCompensation)) {
+            ok &= talon.configVoltageCompSaturation(voltageCompensation, TIMEOUT_MS) == ErrorCode.OK;
+            talon.enableVoltageCompensation(true);
+        }
+
+        synchronized (TalonConfig.class) {
+            appliedCount++;
+            applyNanos += System.nanoTime() - start;
+            if (ok) {
+                sent.setProperty(key, fingerprint);
+                changed = true;
+            }
+        }
+        return talon;
+    }
+
+    /**
+     * Store what was sent, and print how many Talons were skipped and the time
+     * spent configuring, summed over startup threads
+     */
+    public static synchronized void save() {
+        System.out.println(String.format("Talon configs: %d unchanged, %d sent, %.1f ms", skippedCount, appliedCount,
+                applyNanos / 1e6));
+        // Simulated Talons start fresh every run
+        if (!changed || !RobotBase.isReal()) return;
+        try (OutputStream out = new FileOutputStream(FILE)) {
+            sent.store(out, "Talon config fingerprints, delete to resend every config");
+            changed = false;
+        } catch (IOException e) {
+            System.err.println("Couldn't save Talon configs: " + e.getMessage());
+        }
+    }
+
+    private static void load() {
+        if (loaded) return;
+        loaded = true;
+        if (!RobotBase.isReal() || !new File(FILE).exists()) return;
+        try (InputStream in = new FileInputStream(FILE)) {
+            sent.load(in);
+        } catch (IOException e) {
+            System.err.println("Couldn't read Talon configs, sending all: " + e.getMessage());
+            sent.clear();
+        }
+    }
+}
@@ -7,7 +7,7 @@ import edu.wpi.first.networktables.NetworkTableInstance;
 public class Targeting {
 
     private static double[] recentFrames = { 0, 0, 0, };
-    private static String CAMERA_NAME = "rPi Camera 0";
+    static final String CAMERA_NAME = "rPi Camera 0";
     private static int index = 0;
 
     public static boolean isConnected() {
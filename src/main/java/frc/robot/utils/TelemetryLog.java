@@ -0,0 +1,217 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.RobotBase;
+import edu.wpi.first.wpilibj.RobotController;
+
+/**
+ * Low overhead binary telemetry log.
+ *
+ * The robot thread writes primitive samples into a preallocated ring buffer
+ * (no locks, no allocation), and a background thread drains it into a binary
+ * file. Decode on desktop with {@link TelemetryLogDecoder}.
+ *
+ * Only the robot thread may call {@link #log}, the buffer is single producer.
+ * Nothing is logged while disabled. A new file is started every
+ * {@link #MAX_FILE_BYTES}, and the oldest logs are deleted once they add up to
+ * more than {@link #MAX_TOTAL_BYTES}, so the roboRIO never fills up.
+ *
+ * File format (big endian): {@link #MAGIC}, then records of
+ * <ul>
+ * <li>{@link #RECORD_CHANNEL}, short id, UTF name</li>
+ * <li>{@link #RECORD_SAMPLE}, short id, long timestamp (us), double value</li>
+ * </ul>
+ */
+public class TelemetryLog {
+    private static TelemetryLog TELEMETRY_LOG = null;
+
+    public static final String MAGIC = "FRCLOG1";
+    public static final byte RECORD_CHANNEL = 0;
+    public static final byte RECORD_SAMPLE = 1;
+
+    private static final int BUFFER_SIZE = 1 << 14; // Must be a power of 2
+    private static final int BUFFER_MASK = BUFFER_SIZE - 1;
+    private static final long DRAIN_PERIOD_MS = 100;
+    private static final String ROBOT_LOG_DIRECTORY = "/home/lvuser/logs";
+    private static final String SIM_LOG_DIRECTORY = "logs";
+    private static final String FILE_PREFIX = "telemetry_";
+    private static final String FILE_EXTENSION = ".bin";
+    public static final long MAX_FILE_BYTES = 32L << 20;
+    public static final long MAX_TOTAL_BYTES = 256L << 20;
+
+    // Ring buffer
+    private final short[] channels = new short[BUFFER_SIZE];
+    private final long[] timestamps = new long[BUFFER_SIZE];
+    private final double[] values = new double[BUFFER_SIZE];
+    private final AtomicLong head = new AtomicLong(); // Next slot to write, robot thread only
+    private final AtomicLong tail = new AtomicLong(); // Next slot to read, writer thread only
+    private long dropped = 0;
+
+    private final ConcurrentLinkedQueue<String> newChannels = new ConcurrentLinkedQueue<>();
+    private short channelCount = 0;
+    private final List<String> channelNames = new ArrayList<>(); // Writer thread only
+    private long cycleTimestamp = 0;
+    private boolean cycleEnabled = false;
+
+    private TelemetryLog() {
+        Thread writer = new Thread(this::writeLoop, "TelemetryLog");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Registers a channel. Call once at startup and keep the id.
+     * @param name e.g. "Climber/Left Angle"
+     * @return Channel id to pass to {@link #log}
+     */
+    public synchronized int addChannel(String name) {
+        newChannels.add(name);
+        return channelCount++;
+    }
+
+    /**
+     * Latch the timestamp used for every sample logged this loop. Call once at
+     * the start of robotPeriodic.
+     */
+    public void startCycle() {
+        cycleTimestamp = RobotController.getFPGATime();
+        cycleEnabled = DriverStation.isEnabled();
+    }
+
+    public void log(int channel, double value) {
+        if (!cycleEnabled) return;
+        long index = head.get();
+        if (index - tail.get() >= BUFFER_SIZE) {
+            // Writer has fallen behind, drop rather than block the loop
+            dropped++;
+            return;
+        }
+        int slot = (int) (index & BUFFER_MASK);
+        channels[slot] = (short) channel;
+        timestamps[slot] = cycleTimestamp;
+        values[slot] = value;
+        head.lazySet(index + 1);
+    }
+
+    public void log(int channel, boolean value) {
+        log(channel, value ? 1 : 0);
+    }
+
+    /**
+     * @return Samples dropped because the buffer was full
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    private void writeLoop() {
+        File directory = new File(RobotBase.isReal() ? ROBOT_LOG_DIRECTORY : SIM_LOG_DIRECTORY);
+        directory.mkdirs();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                deleteOldLogs(directory);
+                writeFile(directory);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Write one file until it reaches {@link #MAX_FILE_BYTES}
+     */
+    private void writeFile(File directory) throws InterruptedException {
+        File file = new File(directory,
+                FILE_PREFIX + new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date()) + FILE_EXTENSION);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16))) {
+            out.writeBytes(MAGIC);
+            // Every file can be decoded on its own
+            for (int id = 0; id < channelNames.size(); id++) {
+                writeChannel(out, id, channelNames.get(id));
+            }
+            while (out.size() < MAX_FILE_BYTES) {
+                drain(out);
+                out.flush();
+                Thread.sleep(DRAIN_PERIOD_MS);
+            }
+        } catch (IOException ex) {
+            DriverStation.reportError("Unable to write telemetry log: " + file, ex.getStackTrace());
+            // Don't retry in a tight loop if the disk is gone
+            Thread.sleep(DRAIN_PERIOD_MS * 100);
+        }
+    }
+
+    /**
+     * Delete the oldest logs until the rest, and room for the next file, fit in {@link #MAX_TOTAL_BYTES}
+     */
+    private static void deleteOldLogs(File directory) {
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(FILE_PREFIX) && name.endsWith(FILE_EXTENSION));
+        if (files == null) return;
+        // Names are timestamps, so oldest first
+        Arrays.sort(files);
+        long total = MAX_FILE_BYTES;
+        for (File file : files) {
+            total += file.length();
+        }
+        for (int i = 0; i < files.length && total > MAX_TOTAL_BYTES; i++) {
+            total -= files[i].length();
+            if (!files[i].delete()) {
+                System.err.println("Couldn't delete old telemetry log " + files[i]);
+            }
+        }
+    }
+
+    private void drain(DataOutputStream out) throws IOException {
+        // Channel definitions first, so every sample's id is already known to the decoder
+        String name;
+        while ((name = newChannels.poll()) != null) {
+            writeChannel(out, channelNames.size(), name);
+            channelNames.add(name);
+        }
+
+        long index = tail.get();
+        long end = head.get();
+        for (; index < end; index++) {
+            int slot = (int) (index & BUFFER_MASK);
+            out.writeByte(RECORD_SAMPLE);
+            out.writeShort(channels[slot]);
+            out.writeLong(timestamps[slot]);
+            out.writeDouble(values[slot]);
+        }
+        tail.lazySet(index);
+    }
+
+    private static void writeChannel(DataOutputStream out, int id, String name) throws IOException {
+        out.writeByte(RECORD_CHANNEL);
+        out.writeShort(id);
+        out.writeUTF(name);
+    }
+
+    /**
+     * @return The single instance of TelemetryLog
+     */
+    public static synchronized TelemetryLog getInstance() {
+        // To ensure only one instance is created
+        if (TELEMETRY_LOG == null) {
+            TELEMETRY_LOG = new TelemetryLog();
+        }
+        return TELEMETRY_LOG;
+    }
+}
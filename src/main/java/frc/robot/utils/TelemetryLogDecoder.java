@@ -0,0 +1,77 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utils;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Desktop decoder for {@link TelemetryLog} files. Prints one CSV row per sample:
+ * timestamp (s), channel, value.
+ *
+ * Usage: ./gradlew decodeTelemetry -Plog=telemetry_xxx.bin
+ */
+public final class TelemetryLogDecoder {
+    private TelemetryLogDecoder() {}
+
+    public static void main(String... args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: TelemetryLogDecoder <log file>");
+            return;
+        }
+        decode(args[0], System.out);
+    }
+
+    /**
+     * Called for every sample in a log, in the order they were logged
+     */
+    public interface SampleConsumer {
+        void accept(long timestampMicros, String channel, double value);
+    }
+
+    public static void decode(String fileName, PrintStream out) throws IOException {
+        out.println("time,channel,value");
+        decode(fileName, (timestamp, channel, value) -> out.println(timestamp / 1e6 + "," + channel + "," + value));
+    }
+
+    public static void decode(String fileName, SampleConsumer consumer) throws IOException {
+        Map<Short, String> channelNames = new HashMap<>();
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(fileName)))) {
+            byte[] magic = new byte[TelemetryLog.MAGIC.length()];
+            in.readFully(magic);
+            if (!TelemetryLog.MAGIC.equals(new String(magic, "US-ASCII"))) {
+                throw new IOException("Not a telemetry log: " + fileName);
+            }
+
+            while (true) {
+                byte type;
+                try {
+                    type = in.readByte();
+                } catch (EOFException ex) {
+                    break;
+                }
+                short id = in.readShort();
+                if (type == TelemetryLog.RECORD_CHANNEL) {
+                    channelNames.put(id, in.readUTF());
+                } else if (type == TelemetryLog.RECORD_SAMPLE) {
+                    long timestamp = in.readLong();
+                    double value = in.readDouble();
+                    consumer.accept(timestamp, channelNames.getOrDefault(id, "#" + id), value);
+                } else {
+                    throw new IOException("Corrupt record type " + type);
+                }
+            }
+        } catch (EOFException ex) {
+            // Log was cut off mid record (robot powered off), keep what was decoded
+        }
+    }
+}
@@ -0,0 +1,278 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.trajectory.Trajectory;
+import edu.wpi.first.math.trajectory.TrajectoryConfig;
+import edu.wpi.first.math.trajectory.TrajectoryGenerator;
+import edu.wpi.first.math.trajectory.TrajectoryUtil;
+import edu.wpi.first.math.trajectory.constraint.TrajectoryConstraint;
+import edu.wpi.first.wpilibj.RobotBase;
+import frc.robot.Constants.AutoConstants;
+import frc.robot.Constants.DriveConstants;
+
+/**
+ * Trajectories generated on the robot, kept so each one is only generated
+ * once. TrajectoryGenerator takes tens of milliseconds on the roboRIO, so
+ * nothing is generated or read from file on the robot loop: a request returns
+ * a future that a path in memory completes right away, anything else completes
+ * on a background thread.
+ *
+ * Paths are looked up by a hash of their waypoints and config. The most
+ * recently used are kept in memory, and every path is also saved under
+ * /home/lvuser so it survives reboots. The least recently used files are
+ * deleted past {@link AutoConstants#TRAJECTORY_CACHE_FILES} or
+ * {@link AutoConstants#TRAJECTORY_CACHE_BYTES}. Simulation only keeps the
+ * memory tier.
+ * A path that can't be generated is never kept, the next request tries again.
+ *
+ * Constraints can't be read back out of a config, only their types and the
+ * drive constants they are built from (see
+ * {@link TrajectoryConfigs#createConfig}) go into the hash. Delete the
+ * directory after changing a constraint any other way.
+ */
+public class TrajectoryCache {
+    private static TrajectoryCache TRAJECTORY_CACHE = null;
+
+    private static final Path DIRECTORY = Paths.get("/home/lvuser/trajectories");
+    private static final String TRAJECTORY_EXTENSION = ".wpilib.json";
+    // Bump when the hash or file format changes, so old files are ignored
+    private static final int VERSION = 1;
+
+    private final Map<String, Trajectory> memory = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Trajectory> eldest) {
+            return size() > AutoConstants.TRAJECTORY_CACHE_SIZE;
+        }
+    };
+    // Requests being loaded, so asking twice doesn't generate twice
+    private final Map<String, CompletableFuture<Trajectory>> pending = new HashMap<>();
+    // Reads, generates and writes files, one at a time
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "TrajectoryCache");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final boolean useFiles = RobotBase.isReal();
+    private int memoryHits = 0;
+    private int fileHits = 0;
+    private int generated = 0;
+    private int failed = 0;
+
+    private TrajectoryCache() {}
+
+    /**
+     * @return Completes with the trajectory through these poses, or null if it
+     *         can't be generated
+     */
+    public CompletableFuture<Trajectory> request(List<Pose2d> waypoints, TrajectoryConfig config) {
+        Hasher hasher = new Hasher();
+        for (Pose2d waypoint : waypoints) {
+            hasher.add(waypoint);
+        }
+        return request(hasher.add(config).finish(), () -> TrajectoryGenerator.generateTrajectory(waypoints, config));
+    }
+
+    /**
+     * @param interiorWaypoints Points passed through, headings are picked by the generator
+     * @return Completes with the trajectory from start to end, or null if it
+     *         can't be generated
+     */
+    public CompletableFuture<Trajectory> request(Pose2d start, List<Translation2d> interiorWaypoints, Pose2d end,
+            TrajectoryConfig config) {
+        Hasher hasher = new Hasher().add(start);
+        for (Translation2d waypoint : interiorWaypoints) {
+            hasher.add(waypoint.getX()).add(waypoint.getY());
+        }
+        // Interior points are positions only, mark where they end so the two kinds of key can't collide
+        hasher.add(interiorWaypoints.size()).add(end);
+        return request(hasher.add(config).finish(),
+                () -> TrajectoryGenerator.generateTrajectory(start, interiorWaypoints, end, config));
+    }
+
+    /**
+     * Print how paths were found since startup
+     */
+    public synchronized void printStats() {
+        System.out.println("Trajectory cache: " + memoryHits + " in memory, " + fileHits + " from file, "
+                + generated + " generated, " + failed + " failed");
+    }
+
+    private synchronized CompletableFuture<Trajectory> request(String key, Supplier<Trajectory> generator) {
+        Trajectory trajectory = memory.get(key);
+        if (trajectory != null) {
+            memoryHits++;
+            return CompletableFuture.completedFuture(trajectory);
+        }
+        return pending.computeIfAbsent(key,
+                k -> CompletableFuture.supplyAsync(() -> load(key, generator), worker));
+    }
+
+    /**
+     * Runs on the worker thread
+     */
+    private Trajectory load(String key, Supplier<Trajectory> generator) {
+        Trajectory trajectory = read(key);
+        boolean fromFile = trajectory != null;
+        if (!fromFile) {
+            try {
+                trajectory = generator.get();
+            } catch (RuntimeException e) {
+                System.err.println("Couldn't generate trajectory: " + e.getMessage());
+            }
+            // A spline that can't be made comes back as a single state that goes nowhere
+            if (trajectory != null && trajectory.getStates().size() < 2) trajectory = null;
+            if (trajectory != null && useFiles) write(key, trajectory);
+        }
+
+        synchronized (this) {
+            pending.remove(key);
+            if (trajectory == null) {
+                failed++;
+            } else {
+                if (fromFile) fileHits++;
+                else generated++;
+                memory.put(key, trajectory);
+            }
+        }
+        return trajectory;
+    }
+
+    private Trajectory read(String key) {
+        if (!useFiles) return null;
+        Path file = DIRECTORY.resolve(key + TRAJECTORY_EXTENSION);
+        if (!Files.exists(file)) return null;
+        try {
+            Trajectory trajectory = TrajectoryUtil.fromPathweaverJson(file);
+            // Modified time is when it was last used, the oldest are deleted first
+            file.toFile().setLastModified(System.currentTimeMillis());
+            return trajectory;
+        } catch (IOException e) {
+            System.err.println("Couldn't read cached trajectory, generating it: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Queued behind the load, so the request completes before the file is written
+     */
+    private void write(String key, Trajectory trajectory) {
+        worker.execute(() -> {
+            try {
+                Files.createDirectories(DIRECTORY);
+                // Write beside it and move into place, so a reboot mid write never leaves half a file
+                Path temp = DIRECTORY.resolve(key + ".tmp");
+                TrajectoryUtil.toPathweaverJson(trajectory, temp);
+                Files.move(temp, DIRECTORY.resolve(key + TRAJECTORY_EXTENSION), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                System.err.println("Couldn't save cached trajectory: " + e.getMessage());
+            }
+            deleteOldFiles();
+        });
+    }
+
+    /**
+     * Delete the least recently used files until the rest fit in the limits
+     */
+    private static void deleteOldFiles() {
+        File[] files = DIRECTORY.toFile().listFiles((dir, name) -> name.endsWith(TRAJECTORY_EXTENSION));
+        if (files == null) return;
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        long total = 0;
+        for (File file : files) {
+            total += file.length();
+        }
+        for (int i = 0; i < files.length
+                && (files.length - i > AutoConstants.TRAJECTORY_CACHE_FILES || total > AutoConstants.TRAJECTORY_CACHE_BYTES); i++) {
+            total -= files[i].length();
+            if (!files[i].delete()) {
+                System.err.println("Couldn't delete old cached trajectory " + files[i]);
+            }
+        }
+    }
+
+    /**
+     * @return The single instance of TrajectoryCache
+     */
+    public static synchronized TrajectoryCache getInstance() {
+        // To ensure only one instance is created
+        if (TRAJECTORY_CACHE == null) {
+            TRAJECTORY_CACHE = new TrajectoryCache();
+        }
+        return TRAJECTORY_CACHE;
+    }
+
+    /**
+     * SHA-256 of every number that decides the shape of a path
+     */
+    private static class Hasher {
+        private final MessageDigest digest;
+        private final ByteBuffer buffer = ByteBuffer.allocate(Double.BYTES);
+
+        private Hasher() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                // Every JVM has to provide SHA-256
+                throw new IllegalStateException(e);
+            }
+            add(VERSION);
+        }
+
+        private Hasher add(double value) {
+            buffer.clear();
+            digest.update(buffer.putDouble(value).array());
+            return this;
+        }
+
+        private Hasher add(Pose2d pose) {
+            return add(pose.getX()).add(pose.getY()).add(pose.getRotation().getRadians());
+        }
+
+        private Hasher add(TrajectoryConfig config) {
+            add(config.getMaxVelocity()).add(config.getMaxAcceleration())
+                    .add(config.getStartVelocity()).add(config.getEndVelocity())
+                    .add(config.isReversed() ? 1 : 0);
+            for (TrajectoryConstraint constraint : config.getConstraints()) {
+                digest.update(constraint.getClass().getName().getBytes(StandardCharsets.UTF_8));
+            }
+            return add(DriveConstants.TRACK_WIDTH_METERS).add(DriveConstants.KS).add(DriveConstants.KV)
+                    .add(DriveConstants.KA).add(AutoConstants.PATH_MAX_VOLTS);
+        }
+
+        private String finish() {
+            StringBuilder hex = new StringBuilder();
+            // Half the hash is plenty to tell a few thousand paths apart, and keeps file names short
+            byte[] hash = digest.digest();
+            for (int i = 0; i < hash.length / 2; i++) {
+                hex.append(String.format("%02x", hash[i]));
+            }
+            return hex.toString();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utils;
+
+import edu.wpi.first.math.controller.SimpleMotorFeedforward;
+import edu.wpi.first.math.trajectory.TrajectoryConfig;
+import edu.wpi.first.math.trajectory.constraint.DifferentialDriveVoltageConstraint;
+import frc.robot.Constants.AutoConstants;
+import frc.robot.Constants.DriveConstants;
+
+/**
+ * Constraints for paths generated on the robot. Paths generated ahead of time
+ * use PathWeaver's own config instead, see PathGenerator.
+ */
+public final class TrajectoryConfigs {
+
+    private TrajectoryConfigs() {}
+
+    /**
+     * @return Drivetrain kinematics and a voltage limit from
+     *         {@link DriveConstants}, new config every call
+     */
+    public static TrajectoryConfig createConfig(double maxVelocity, double maxAcceleration) {
+        return new TrajectoryConfig(maxVelocity, maxAcceleration)
+                .setKinematics(DriveConstants.DRIVE_KINEMATICS)
+                .addConstraint(new DifferentialDriveVoltageConstraint(
+                        new SimpleMotorFeedforward(DriveConstants.KS, DriveConstants.KV, DriveConstants.KA),
+                        DriveConstants.DRIVE_KINEMATICS, AutoConstants.PATH_MAX_VOLTS));
+    }
+}
@@ -0,0 +1,37 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utils;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.trajectory.Trajectory;
+
+import static frc.robot.Constants.AutoConstants.*;
+
+/**
+ * Moves paths drawn on the blue side of the field over to the red side.
+ *
+ * The field is the same turned half way around its center, so the red version
+ * of a path is the blue one rotated 180 degrees about the center. Speeds,
+ * timing and curvature don't change, only where the poses are.
+ */
+public final class TrajectoryTransforms {
+    // Pose of the red corner seen from the blue one, relativeTo this does the rotation
+    private static final Pose2d RED_ORIGIN = new Pose2d(FIELD_LENGTH, FIELD_WIDTH, Rotation2d.fromDegrees(180));
+
+    private TrajectoryTransforms() {}
+
+    /**
+     * @param blue Drawn for the blue alliance
+     * @return Same path on the red side, new states
+     */
+    public static Trajectory rotateToRed(Trajectory blue) {
+        return blue.relativeTo(RED_ORIGIN);
+    }
+
+    public static Pose2d rotateToRed(Pose2d blue) {
+        return blue.relativeTo(RED_ORIGIN);
+    }
+}
@@ -0,0 +1,100 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot;
+
+import com.ctre.phoenix.unmanaged.Unmanaged;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import frc.robot.Constants.AutoConstants;
+import frc.robot.utils.AutoStepLog;
+import frc.robot.utils.BallSim;
+import frc.robot.utils.NamedSequentialCommandGroup;
+import frc.robot.utils.TrajectoryCache;
+
+/**
+ * Runs every auto in simulation as fast as possible and prints how long each
+ * step took, how closely the paths were followed and how many balls were shot.
+ * Each auto starts with the preloaded ball, see {@link BallSim}.
+ *
+ * The HAL clock is stepped manually, so a 15 s auto takes well under a second.
+ * Phoenix sim devices still update on their own thread in real time, pass
+ * -Pspeedup=N to cap the run at N times real time if Talon outputs lag.
+ *
+ * Usage: ./gradlew benchmarkAutos [-Pauto="5 Ball"] [-Pspeedup=20]
+ */
+public final class AutoBenchmark {
+  private static final double PERIOD = 0.02;
+  private static final double TIME_LIMIT = 20; // s, autos that run past this are cut off
+
+  private AutoBenchmark() {}
+
+  public static void main(String... args) throws InterruptedException {
+    String filter = args.length > 0 ? args[0] : "";
+    double speedup = args.length > 1 && !args[1].isEmpty() ? Double.parseDouble(args[1]) : 0;
+    long minStepNanos = speedup > 0 ? (long) (PERIOD * 1e9 / speedup) : 0;
+
+    HAL.initialize(500, 0);
+    SimHooks.pauseTiming();
+    DriverStationSim.setDsAttached(true);
+    DriverStationSim.setAutonomous(true);
+    DriverStationSim.setEnabled(true);
+    DriverStationSim.notifyNewData();
+
+    RobotContainer robotContainer = new RobotContainer();
+    CommandScheduler scheduler = CommandScheduler.getInstance();
+    AutoStepLog stepLog = AutoStepLog.getInstance();
+
+    System.out.println("auto,step,start (s),duration (s),rms error (m),max error (m)");
+    StringBuilder summary = new StringBuilder("\nauto,total (s),balls shot,within 15 s,shot times (s),last spin up (s)\n");
+    BallSim ballSim = BallSim.getInstance();
+
+    for (NamedSequentialCommandGroup auto : robotContainer.getAutoSequences()) {
+      if (!auto.toString().contains(filter)) continue;
+
+      int ballsBefore = robotContainer.getBallsShot();
+      ballSim.reset(AutoConstants.PRELOADED_BALLS);
+      stepLog.startAuto(auto.toString());
+      auto.schedule();
+      double elapsed = 0;
+      while (!stepLog.isFinished() && elapsed < TIME_LIMIT) {
+        long stepStart = System.nanoTime();
+        Unmanaged.feedEnable(100);
+        DriverStationSim.notifyNewData();
+        scheduler.run();
+        robotContainer.updatePose();
+        SimHooks.stepTiming(PERIOD);
+        elapsed += PERIOD;
+
+        while (System.nanoTime() - stepStart < minStepNanos) {
+          Thread.sleep(0, 100_000);
+        }
+      }
+      scheduler.cancelAll();
+      scheduler.run();
+
+      for (AutoStepLog.Step step : stepLog.getSteps()) {
+        System.out.println(String.format("%s,%s,%.2f,%.2f,%s,%s",
+            auto, step.getName(), step.getStart(), step.getDuration(),
+            step.hasTrackingError() ? String.format("%.3f", step.getRmsError()) : "",
+            step.hasTrackingError() ? String.format("%.3f", step.getMaxError()) : ""));
+      }
+      double total = stepLog.isFinished() ? stepLog.getTotalTime() : Double.NaN;
+      StringBuilder shotTimes = new StringBuilder();
+      for (double shotTime : ballSim.getShotTimes()) {
+        shotTimes.append(String.format("%.2f ", shotTime - stepLog.getStartTime()));
+      }
+      summary.append(String.format("%s,%.2f,%d,%b,%s,%.2f\n",
+          auto, total, robotContainer.getBallsShot() - ballsBefore, total <= AutoConstants.AUTO_PERIOD,
+          shotTimes.toString().trim(), robotContainer.getLastSpinUpTime()));
+    }
+
+    System.out.print(summary);
+    TrajectoryCache.getInstance().printStats();
+    System.exit(0);
+  }
+}
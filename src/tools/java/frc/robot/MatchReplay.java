@@ -0,0 +1,179 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+import frc.robot.utils.InputsTable;
+import frc.robot.utils.MatchInputs;
+import frc.robot.utils.TelemetryLogDecoder;
+
+/**
+ * Replays a telemetry log from the robot through the real robot code, as fast
+ * as possible, and compares what the code commands now against what it
+ * commanded in the match.
+ *
+ * Subsystems run on replay IO (no hardware), their inputs come from the
+ * "Inputs/" channels of the log, the driver station, controller and vision
+ * values from {@link MatchInputs}. The HAL clock is stepped to the logged loop
+ * timestamps. Every "Outputs/" channel is then checked loop by loop, so a
+ * change to a control loop can be run against real match data.
+ *
+ * Exits with 1 if any output differs by more than the tolerance.
+ *
+ * Usage: ./gradlew replayMatch -Plog=telemetry_xxx.bin [-Ptolerance=0.01]
+ */
+public final class MatchReplay {
+  private static final double DEFAULT_TOLERANCE = 1e-6;
+  private static final long DRIVER_STATION_TIMEOUT_NANOS = 100_000_000;
+
+  private MatchReplay() {}
+
+  public static void main(String... args) throws IOException, InterruptedException {
+    if (args.length < 1 || args[0].isEmpty()) {
+      System.err.println("Usage: MatchReplay <log file> [tolerance]");
+      return;
+    }
+    double tolerance = args.length > 1 && !args[1].isEmpty() ? Double.parseDouble(args[1]) : DEFAULT_TOLERANCE;
+    List<Frame> frames = readFrames(args[0]);
+    if (frames.isEmpty()) {
+      System.err.println("No logged loops in " + args[0]);
+      return;
+    }
+
+    // Must be set before RobotContainer picks the subsystem IO
+    System.setProperty("replay", "true");
+    HAL.initialize(500, 0);
+    SimHooks.pauseTiming();
+
+    Map<String, Double> values = new HashMap<>();
+    InputsTable.startReplay(values);
+    Map<String, Double> recomputed = InputsTable.getReplayOutputs();
+    MatchInputs matchInputs = MatchInputs.getInstance();
+
+    Robot robot = new Robot();
+    robot.robotInit();
+
+    Map<String, ChannelDiff> diffs = new TreeMap<>();
+    long startTime = frames.get(0).timestamp;
+    long lastTime = startTime;
+    int laggedFrames = 0;
+
+    for (Frame frame : frames) {
+      values.clear();
+      values.putAll(frame.inputs);
+      SimHooks.stepTiming((frame.timestamp - lastTime) / 1e6);
+      lastTime = frame.timestamp;
+
+      // The driver station thread copies new data in on its own time, wait for it
+      matchInputs.replay();
+      long waitStart = System.nanoTime();
+      while (!matchInputs.isDriverStationUpdated()) {
+        if (System.nanoTime() - waitStart > DRIVER_STATION_TIMEOUT_NANOS) {
+          laggedFrames++;
+          break;
+        }
+        Thread.sleep(0, 100_000);
+      }
+
+      recomputed.clear();
+      robot.replayLoop();
+
+      double time = (frame.timestamp - startTime) / 1e6;
+      for (Map.Entry<String, Double> logged : frame.outputs.entrySet()) {
+        diffs.computeIfAbsent(logged.getKey(), ChannelDiff::new)
+            .compare(time, logged.getValue(), recomputed.get(logged.getKey()), tolerance);
+      }
+      for (Map.Entry<String, Double> output : recomputed.entrySet()) {
+        if (!frame.outputs.containsKey(output.getKey())) {
+          // Commanded now, wasn't in the match
+          diffs.computeIfAbsent(output.getKey(), ChannelDiff::new)
+              .compare(time, null, output.getValue(), tolerance);
+        }
+      }
+    }
+
+    System.out.println("channel,loops compared,mismatches,max error,first mismatch (s)");
+    int mismatches = 0;
+    for (ChannelDiff diff : diffs.values()) {
+      System.out.println(diff);
+      mismatches += diff.mismatches;
+    }
+    System.out.println(String.format("\n%d loops (%.1f s), %d mismatches",
+        frames.size(), (lastTime - startTime) / 1e6, mismatches));
+    if (laggedFrames > 0) {
+      System.out.println(laggedFrames + " loops ran before the driver station caught up, their results may not match");
+    }
+    System.exit(mismatches > 0 ? 1 : 0);
+  }
+
+  /**
+   * Splits the log into loops, every sample in a loop shares its timestamp
+   */
+  private static List<Frame> readFrames(String fileName) throws IOException {
+    List<Frame> frames = new ArrayList<>();
+    TelemetryLogDecoder.decode(fileName, (timestamp, channel, value) -> {
+      boolean input = channel.startsWith("Inputs/");
+      if (!input && !channel.startsWith("Outputs/")) return;
+
+      if (frames.isEmpty() || frames.get(frames.size() - 1).timestamp != timestamp) {
+        frames.add(new Frame(timestamp));
+      }
+      Frame frame = frames.get(frames.size() - 1);
+      (input ? frame.inputs : frame.outputs).put(channel, value);
+    });
+    return frames;
+  }
+
+  private static class Frame {
+    private final long timestamp; // us
+    private final Map<String, Double> inputs = new HashMap<>();
+    private final Map<String, Double> outputs = new HashMap<>();
+
+    private Frame(long timestamp) {
+      this.timestamp = timestamp;
+    }
+  }
+
+  private static class ChannelDiff {
+    private final String channel;
+    private int compared = 0;
+    private int mismatches = 0;
+    private double maxError = 0;
+    private double firstMismatch = Double.NaN;
+
+    private ChannelDiff(String channel) {
+      this.channel = channel;
+    }
+
+    /**
+     * @param logged Null if not commanded in the match
+     * @param replayed Null if not commanded in the replay
+     */
+    private void compare(double time, Double logged, Double replayed, double tolerance) {
+      compared++;
+      double error = logged == null || replayed == null ? Double.POSITIVE_INFINITY : Math.abs(logged - replayed);
+      if (error > tolerance) {
+        mismatches++;
+        if (Double.isNaN(firstMismatch)) firstMismatch = time;
+      }
+      maxError = Math.max(maxError, error);
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%s,%d,%d,%s,%s", channel, compared, mismatches,
+          Double.isInfinite(maxError) ? "missing" : String.format("%.6f", maxError),
+          Double.isNaN(firstMismatch) ? "" : String.format("%.2f", firstMismatch));
+    }
+  }
+}
@@ -0,0 +1,196 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.kinematics.DifferentialDriveKinematics;
+import edu.wpi.first.math.spline.Spline;
+import edu.wpi.first.math.trajectory.Trajectory;
+import edu.wpi.first.math.trajectory.TrajectoryConfig;
+import edu.wpi.first.math.trajectory.TrajectoryGenerator;
+import edu.wpi.first.math.trajectory.TrajectoryUtil;
+import frc.robot.Constants.AutoConstants;
+
+/**
+ * Generates every path in PathWeaver/Paths into the deploy directory, the same
+ * way the PathWeaver GUI exports them, so the JSON can't drift from the paths.
+ *
+ * Speed, acceleration and track width all come from PathWeaver/pathweaver.json
+ * with no other constraints, the same config the GUI exports with, so the
+ * committed JSON can be checked against it. Paths are generated in parallel.
+ *
+ * Each new path is checked against the JSON it replaces. If any takes longer
+ * than {@link AutoConstants#PATH_TIME_REGRESSION} more, nothing is written.
+ * Pass -PacceptSlower to write them anyway.
+ *
+ * checkPaths only checks: it fails if a JSON is missing or doesn't match its
+ * path, and writes nothing. It isn't part of build or deploy.
+ *
+ * Usage: ./gradlew generatePaths [-PacceptSlower]
+ *        ./gradlew checkPaths
+ */
+public final class PathGenerator {
+  private static final Path PROJECT_DIRECTORY = Paths.get("PathWeaver");
+  private static final String TRAJECTORY_EXTENSION = ".wpilib.json";
+  // How far a generated path may be from its JSON and still match
+  private static final double CHECK_TIME_TOLERANCE = 1e-3; // s
+  private static final double CHECK_POSE_TOLERANCE = 1e-3; // m
+
+  private PathGenerator() {}
+
+  /**
+   * @param args "check" or "write", then whether slower paths may be written
+   */
+  public static void main(String... args) throws IOException {
+    boolean check = args.length > 0 && "check".equals(args[0]);
+    boolean acceptSlower = args.length > 1 && Boolean.parseBoolean(args[1]);
+
+    JsonNode project = new ObjectMapper().readTree(PROJECT_DIRECTORY.resolve("pathweaver.json").toFile());
+    if (!"Meter".equals(project.get("lengthUnit").asText())) {
+      throw new IllegalStateException("Only PathWeaver projects in meters are supported");
+    }
+    double maxVelocity = project.get("maxVelocity").asDouble();
+    double maxAcceleration = project.get("maxAcceleration").asDouble();
+    DifferentialDriveKinematics kinematics = new DifferentialDriveKinematics(project.get("trackWidth").asDouble());
+    Path outputDirectory = PROJECT_DIRECTORY.resolve(project.get("outputDir").asText()).resolve("output").normalize();
+
+    List<Path> sources;
+    try (Stream<Path> files = Files.list(PROJECT_DIRECTORY.resolve("Paths"))) {
+      sources = files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+    }
+
+    // Each path is independent, generate them on every core
+    List<Result> results = sources.parallelStream()
+        .map(source -> generate(source, outputDirectory, maxVelocity, maxAcceleration, kinematics))
+        .collect(Collectors.toList());
+
+    if (check) {
+      List<Result> outdated = results.stream().filter(result -> !result.matchesOld()).collect(Collectors.toList());
+      for (Result result : outdated) {
+        System.err.println(result.name + (result.oldTrajectory == null ? " has no JSON" : " JSON doesn't match the path"));
+      }
+      if (!outdated.isEmpty()) {
+        System.err.println(outdated.size() + " paths in " + outputDirectory
+            + " are out of date, run ./gradlew generatePaths and commit the output");
+        System.exit(1);
+      }
+      System.out.println("All " + results.size() + " paths match " + outputDirectory);
+      System.exit(0);
+    }
+
+    System.out.println("path,old time (s),new time (s),change");
+    List<Result> slower = new ArrayList<>();
+    for (Result result : results) {
+      System.out.println(String.format("%s,%s,%.3f,%s", result.name,
+          Double.isNaN(result.oldTime) ? "" : String.format("%.3f", result.oldTime), result.newTime,
+          Double.isNaN(result.oldTime) ? "new" : String.format("%+.1f%%", result.getChange() * 100)));
+      if (result.getChange() > AutoConstants.PATH_TIME_REGRESSION) slower.add(result);
+    }
+
+    if (!slower.isEmpty() && !acceptSlower) {
+      for (Result result : slower) {
+        System.err.println(String.format("%s got %.1f%% slower (%.3f s to %.3f s)", result.name,
+            result.getChange() * 100, result.oldTime, result.newTime));
+      }
+      System.err.println("Nothing written, rerun with -PacceptSlower to keep the slower paths");
+      System.exit(1);
+    }
+
+    Files.createDirectories(outputDirectory);
+    for (Result result : results) {
+      TrajectoryUtil.toPathweaverJson(result.trajectory, outputDirectory.resolve(result.name + TRAJECTORY_EXTENSION));
+    }
+    System.out.println("Wrote " + results.size() + " paths to " + outputDirectory);
+    System.exit(0);
+  }
+
+  private static Result generate(Path source, Path outputDirectory, double maxVelocity, double maxAcceleration,
+      DifferentialDriveKinematics kinematics) {
+    String name = source.getFileName().toString();
+    TrajectoryGenerator.ControlVectorList waypoints = new TrajectoryGenerator.ControlVectorList();
+    boolean reversed = false;
+    try {
+      List<String> lines = Files.readAllLines(source);
+      // X,Y,Tangent X,Tangent Y,Fixed Theta,Reversed,Name
+      for (String line : lines.subList(1, lines.size())) {
+        if (line.isBlank()) continue;
+        String[] columns = line.split(",", -1);
+        // PathWeaver measures y down from the top of the field, the robot up from the bottom
+        waypoints.add(new Spline.ControlVector(
+            new double[] { Double.parseDouble(columns[0]), Double.parseDouble(columns[2]), 0 },
+            new double[] { Double.parseDouble(columns[1]) + AutoConstants.FIELD_WIDTH, Double.parseDouble(columns[3]), 0 }));
+        if (waypoints.size() == 1) reversed = Boolean.parseBoolean(columns[5]);
+      }
+    } catch (IOException | RuntimeException e) {
+      throw new IllegalStateException("Couldn't read path " + name, e);
+    }
+
+    // What the PathWeaver GUI exports with, nothing from DriveConstants
+    Trajectory trajectory = TrajectoryGenerator.generateTrajectory(waypoints,
+        new TrajectoryConfig(maxVelocity, maxAcceleration).setKinematics(kinematics).setReversed(reversed));
+
+    Trajectory oldTrajectory = null;
+    Path output = outputDirectory.resolve(name + TRAJECTORY_EXTENSION);
+    if (Files.exists(output)) {
+      try {
+        oldTrajectory = TrajectoryUtil.fromPathweaverJson(output);
+      } catch (IOException e) {
+        System.err.println("Couldn't read the old " + name + ", not comparing: " + e.getMessage());
+      }
+    }
+    return new Result(name, trajectory, oldTrajectory);
+  }
+
+  private static class Result {
+    private final String name;
+    private final Trajectory trajectory;
+    private final Trajectory oldTrajectory;
+    private final double newTime;
+    private final double oldTime;
+
+    private Result(String name, Trajectory trajectory, Trajectory oldTrajectory) {
+      this.name = name;
+      this.trajectory = trajectory;
+      this.oldTrajectory = oldTrajectory;
+      this.newTime = trajectory.getTotalTimeSeconds();
+      this.oldTime = oldTrajectory == null ? Double.NaN : oldTrajectory.getTotalTimeSeconds();
+    }
+
+    /**
+     * @return True if the JSON has the same timing and end points as the path
+     */
+    private boolean matchesOld() {
+      if (oldTrajectory == null) return false;
+      return Math.abs(newTime - oldTime) < CHECK_TIME_TOLERANCE
+          && isSamePose(trajectory.getInitialPose(), oldTrajectory.getInitialPose())
+          && isSamePose(trajectory.sample(newTime).poseMeters, oldTrajectory.sample(oldTime).poseMeters)
+          && trajectory.getStates().size() == oldTrajectory.getStates().size();
+    }
+
+    private static boolean isSamePose(Pose2d a, Pose2d b) {
+      return a.getTranslation().getDistance(b.getTranslation()) < CHECK_POSE_TOLERANCE
+          && Math.abs(a.getRotation().minus(b.getRotation()).getRadians()) < CHECK_POSE_TOLERANCE;
+    }
+
+    /**
+     * @return Fraction longer than the old path, 0 if there wasn't one
+     */
+    private double getChange() {
+      return Double.isNaN(oldTime) ? 0 : newTime / oldTime - 1;
+    }
+  }
+}